@@ -0,0 +1,49 @@
+package com.techmanage.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+
+final class BenchmarkSupport {
+
+    static final LocalDate BIRTH_DATE = LocalDate.of(1990, 5, 15);
+
+    private BenchmarkSupport() {
+    }
+
+    // Argumentos de linha de comando (precedência sobre application.properties): sem data.sql e sem logging de SQL
+    static String[] applicationArgs(String databaseName) {
+        return new String[] {
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "--spring.sql.init.mode=never",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.jdbc.datasource.init=WARN",
+                "--logging.level.org.springframework.boot.autoconfigure.sql=WARN",
+                "--logging.level.com.techmanage=WARN"
+        };
+    }
+
+    // Telefone único e válido (+55 AA NNNNN-NNNN) derivado de um contador
+    static String phoneFor(long n) {
+        return String.format("+55 %02d %05d-%04d", (n / 1_000_000_000L) % 100, (n / 10_000L) % 100_000, n % 10_000);
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User("Usuário " + i, "user" + i + "@techmanage.com", phoneFor(i),
+                    BIRTH_DATE, UserType.values()[i % UserType.values().length], "Rua Teste, " + i);
+            user.setId((long) i + 1);
+            users.add(user);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,83 @@
+package com.techmanage.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.techmanage.entity.UserType;
+import com.techmanage.exception.ApiError;
+import com.techmanage.exception.EmailAlreadyExistsException;
+import com.techmanage.exception.GlobalExceptionHandler;
+import com.techmanage.exception.UserNotFoundException;
+
+/**
+ * Montagem das respostas de erro 4xx; com o profiler gc (padrão do perfil jmh),
+ * gc.alloc.rate.norm é a alocação por resposta.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private UserNotFoundException userNotFound;
+    private EmailAlreadyExistsException emailAlreadyExists;
+    private HttpMessageNotReadableException invalidUserType;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("GET", "/api/users/999");
+        userNotFound = new UserNotFoundException(999L);
+        emailAlreadyExists = new EmailAlreadyExistsException();
+        // Como o conversor Jackson do Spring entrega: causa InvalidFormatException com o tipo alvo
+        String jacksonMessage = "Cannot deserialize value of type `com.techmanage.entity.UserType` from String \"INVALID\"";
+        invalidUserType = new HttpMessageNotReadableException("JSON parse error: " + jacksonMessage,
+                InvalidFormatException.from(null, jacksonMessage, "INVALID", UserType.class),
+                new MockHttpInputMessage(new byte[0]));
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> userNotFound() {
+        return handler.handleUserNotFoundException(userNotFound, request);
+    }
+
+    // Inclui o custo de criar a exceção, como em cada 404 real
+    @Benchmark
+    public ResponseEntity<ApiError> userNotFoundIncludingException() {
+        return handler.handleUserNotFoundException(new UserNotFoundException(999L), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> emailAlreadyExists() {
+        return handler.handleEmailAlreadyExistsException(emailAlreadyExists, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> emailAlreadyExistsIncludingException() {
+        return handler.handleEmailAlreadyExistsException(new EmailAlreadyExistsException(), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> invalidUserType() {
+        return handler.handleInvalidEnumValue(invalidUserType, request);
+    }
+}
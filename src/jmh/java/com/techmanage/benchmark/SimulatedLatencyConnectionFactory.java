@@ -0,0 +1,71 @@
+package com.techmanage.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Equivalente reativo de {@link SimulatedLatencyStatementInspector}: o mesmo atraso em cada statement R2DBC,
+ * mas sem bloquear a thread (como um driver não bloqueante esperando um banco remoto). Registrado como
+ * BeanPostProcessor no contexto do benchmark, embrulha a ConnectionFactory usada pelo DatabaseClient.
+ */
+class SimulatedLatencyConnectionFactory implements BeanPostProcessor {
+
+    private static final Duration LATENCY = Duration.ofMillis(SimulatedLatencyStatementInspector.LATENCY_MILLIS);
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof ConnectionFactory connectionFactory)) {
+            return bean;
+        }
+        return new ConnectionFactory() {
+            @Override
+            public Mono<Connection> create() {
+                return Mono.from(connectionFactory.create())
+                        .map(connection -> proxy(Connection.class, (self, method, args) -> {
+                            Object result = invoke(connection, method, args);
+                            return result instanceof Statement statement ? delayed(statement) : result;
+                        }));
+            }
+
+            @Override
+            public ConnectionFactoryMetadata getMetadata() {
+                return connectionFactory.getMetadata();
+            }
+        };
+    }
+
+    // execute() só começa depois do atraso; os binds encadeados (que devolvem o próprio statement) seguem no proxy
+    private static Statement delayed(Statement statement) {
+        return proxy(Statement.class, (self, method, args) -> {
+            if ("execute".equals(method.getName())) {
+                return Flux.from(statement.execute()).delaySubscription(LATENCY);
+            }
+            Object result = invoke(statement, method, args);
+            return result == statement ? self : result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
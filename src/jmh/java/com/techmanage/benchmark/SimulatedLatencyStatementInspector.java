@@ -0,0 +1,22 @@
+package com.techmanage.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Atraso fixo em cada statement, com a conexão já em uso pela transação: simula um banco remoto sobre o H2
+ * em memória, que de outra forma nunca bloqueia a thread da requisição.
+ */
+public class SimulatedLatencyStatementInspector implements StatementInspector {
+
+    static final long LATENCY_MILLIS = 5;
+
+    @Override
+    public String inspect(String sql) {
+        try {
+            Thread.sleep(LATENCY_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return sql;
+    }
+}
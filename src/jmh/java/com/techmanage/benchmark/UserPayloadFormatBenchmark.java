@@ -0,0 +1,88 @@
+package com.techmanage.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.techmanage.config.UserProtobufHttpMessageConverter;
+import com.techmanage.entity.User;
+
+/**
+ * Serialização de GET /api/users em cada formato negociável. O tamanho do payload (cru e com gzip)
+ * é impresso no setup; o tempo e a alocação por operação vêm do JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserPayloadFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    @Param({"10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private UserProtobufHttpMessageConverter protobufConverter;
+    private List<User> users;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Mesmas configurações dos conversores de MessageConverterConfig
+        switch (format) {
+            case "json" -> objectMapper = builder().build();
+            case "cbor" -> objectMapper = builder().factory(new CBORFactory()).build();
+            case "smile" -> objectMapper = builder().factory(new SmileFactory()).build();
+            case "protobuf" -> protobufConverter = new UserProtobufHttpMessageConverter(builder());
+            default -> throw new IllegalArgumentException("Formato desconhecido: " + format);
+        }
+        users = BenchmarkSupport.users(size);
+
+        byte[] payload = serialize();
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(payload);
+        }
+        System.out.printf("%n[payload] %s, %d usuários: %d bytes (gzip: %d bytes)%n",
+                format, size, payload.length, gzipped.size());
+    }
+
+    // Padrões do builder do Spring Boot (datas em ISO-8601, não como arrays)
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        if (protobufConverter != null) {
+            protobufConverter.writeUsers(users, out);
+        } else {
+            objectMapper.writeValue(out, users);
+        }
+        return out.toByteArray();
+    }
+}
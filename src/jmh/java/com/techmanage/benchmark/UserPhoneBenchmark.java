@@ -0,0 +1,54 @@
+package com.techmanage.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+
+/**
+ * Custo do telefone na leitura (getter usado na serialização) e na escrita (normalização no setter).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserPhoneBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = new User("João Silva", "joao@email.com", "+5511999999999",
+                BenchmarkSupport.BIRTH_DATE, UserType.ADMIN, "Rua Teste, 123");
+    }
+
+    @Benchmark
+    public String getPhone() {
+        return user.getPhone();
+    }
+
+    @Benchmark
+    public String setPhoneUnformatted() {
+        user.setPhone("+5511999999999");
+        return user.getPhone();
+    }
+
+    @Benchmark
+    public String setPhoneFormatted() {
+        user.setPhone("+55 11 99999-9999");
+        return user.getPhone();
+    }
+}
@@ -0,0 +1,269 @@
+package com.techmanage.benchmark;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.techmanage.TechManageApplication;
+
+/**
+ * {@code connections} conexões keep-alive abertas no setup; cada rajada envia um GET /api/users?limit=20 em
+ * todas ao mesmo tempo (uma consulta por requisição, com {@link SimulatedLatencyStatementInspector#LATENCY_MILLIS}
+ * ms de latência simulada) e lê as respostas. Compara o pool de threads do Tomcat ({@code platform}), uma
+ * virtual thread por requisição ({@code virtual}, só em Java 21+) e a pilha WebFlux + R2DBC do perfil
+ * reactive ({@code reactive}). {@code poolSize} é o tamanho do pool do HikariCP (ou do pool R2DBC).
+ *
+ * O tempo reportado pelo JMH é o da rajada inteira. A latência de cada requisição (do envio ao fim da
+ * resposta, lidas sem bloqueio na ordem em que chegam) é acumulada nas iterações de medição e sai no log
+ * como p50/p90/p99/p99.9/máximo.
+ *
+ * Cliente e servidor ficam no mesmo processo: 10k conexões precisam de ~20k descritores (ulimit -n).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class UserRequestConcurrencyBenchmark {
+
+    private static final String DATABASE = "user-request-concurrency-benchmark";
+
+    @Param({"platform", "virtual", "reactive"})
+    private String mode;
+
+    @Param({"1000", "10000"})
+    private int connections;
+
+    @Param({"50", "400"})
+    private int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private Selector selector;
+    private final List<Exchange> exchanges = new ArrayList<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private byte[] request;
+    private long[] burstLatencies;
+    private final List<long[]> measuredLatencies = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("virtual".equals(mode) && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Modo virtual requer Java 21+ (runtime atual: " + Runtime.version() + ")");
+        }
+        List<String> args = new ArrayList<>(List.of(BenchmarkSupport.applicationArgs(DATABASE)));
+        args.add("--server.port=0");
+        args.add("--spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        args.add("--spring.datasource.hikari.connection-timeout=60000");
+        args.add("--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + SimulatedLatencyStatementInspector.class.getName());
+        SpringApplicationBuilder application = new SpringApplicationBuilder(TechManageApplication.class);
+        if ("reactive".equals(mode)) {
+            // Netty não limita conexões nem tem pool de threads por requisição: quem limita é o pool R2DBC
+            args.add("--spring.profiles.active=reactive");
+            args.add("--spring.r2dbc.url=r2dbc:h2:mem:///" + DATABASE + "?options=DB_CLOSE_DELAY=-1");
+            args.add("--spring.r2dbc.pool.max-size=" + poolSize);
+            args.add("--spring.r2dbc.pool.max-acquire-time=60s");
+            ApplicationContextInitializer<ConfigurableApplicationContext> latency =
+                    ctx -> ctx.getBeanFactory().addBeanPostProcessor(new SimulatedLatencyConnectionFactory());
+            application.initializers(latency);
+        } else {
+            args.add("--techmanage.server.execution-mode=" + mode);
+            // O Tomcat aceita a rajada inteira; quem limita é o pool de threads (platform) ou o HikariCP
+            args.add("--server.tomcat.max-connections=" + (connections + 100));
+            args.add("--server.tomcat.accept-count=" + connections);
+            args.add("--server.tomcat.max-keep-alive-requests=-1");
+            args.add("--server.tomcat.keep-alive-timeout=10m");
+        }
+        context = application.run(args.toArray(String[]::new));
+
+        context.getBean(JdbcTemplate.class).update("INSERT INTO users (id, full_name, email, phone, birth_date, user_type, address, version) "
+                + "SELECT X, 'Usuário ' || X, 'seed' || X || '@techmanage.com', "
+                + "'+1 00 ' || LPAD(CAST(X / 10000 AS VARCHAR), 5, '0') || '-' || LPAD(CAST(MOD(X, 10000) AS VARCHAR), 4, '0'), "
+                + "DATE '1990-05-15', 'VIEWER', 'Rua Teste, 123', 0 FROM SYSTEM_RANGE(1, 1000)");
+
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+        request = ("GET /api/users?limit=20 HTTP/1.1\r\nHost: localhost\r\nAccept: application/json\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        selector = Selector.open();
+        for (int i = 0; i < connections; i++) {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", port));
+            channel.configureBlocking(false);
+            Exchange exchange = new Exchange(channel);
+            channel.register(selector, SelectionKey.OP_READ, exchange);
+            exchanges.add(exchange);
+        }
+        burstLatencies = new long[connections];
+    }
+
+    // Só as iterações de medição entram nos percentis
+    @TearDown(Level.Iteration)
+    public void collectLatencies(IterationParams iteration) {
+        if (iteration.getType() == IterationType.MEASUREMENT) {
+            measuredLatencies.add(burstLatencies.clone());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        printLatencies();
+        for (Exchange exchange : exchanges) {
+            exchange.channel.close();
+        }
+        selector.close();
+        context.close();
+    }
+
+    // Envia em todas as conexões antes de ler; cada resposta é cronometrada quando termina de chegar
+    @Benchmark
+    public int burst() throws IOException {
+        for (Exchange exchange : exchanges) {
+            exchange.send(request);
+        }
+        int pending = connections;
+        int ok = 0;
+        while (pending > 0) {
+            selector.select();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                Exchange exchange = (Exchange) keys.next().attachment();
+                keys.remove();
+                if (exchange.read(readBuffer)) {
+                    burstLatencies[connections - pending] = System.nanoTime() - exchange.sentAt;
+                    pending--;
+                    if (exchange.status == 200) {
+                        ok++;
+                    }
+                }
+            }
+        }
+        if (ok != connections) {
+            throw new IllegalStateException((connections - ok) + " requisições sem 200");
+        }
+        return ok;
+    }
+
+    private void printLatencies() {
+        if (measuredLatencies.isEmpty()) {
+            return;
+        }
+        long[] all = measuredLatencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf(Locale.ROOT, "%n[latency] %s, %d conexões, pool %d (%d requisições): "
+                        + "p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, max %.1f ms%n",
+                mode, connections, poolSize, all.length, percentile(all, 0.50), percentile(all, 0.90),
+                percentile(all, 0.99), percentile(all, 0.999), all[all.length - 1] / 1e6);
+    }
+
+    // Nearest-rank sobre as latências ordenadas, em ms
+    private static double percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    // Uma requisição HTTP/1.1 por conexão; a resposta (Content-Length ou chunked) é montada conforme os bytes chegam
+    private static final class Exchange {
+        private final SocketChannel channel;
+        private byte[] data = new byte[16 * 1024];
+        private int size;
+        private int bodyStart;
+        private long contentLength;
+        private boolean chunked;
+        private int status;
+        private long sentAt;
+
+        private Exchange(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void send(byte[] request) throws IOException {
+            size = 0;
+            bodyStart = -1;
+            contentLength = 0;
+            chunked = false;
+            status = 0;
+            sentAt = System.nanoTime();
+            ByteBuffer buffer = ByteBuffer.wrap(request);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        // true quando a resposta está completa
+        private boolean read(ByteBuffer buffer) throws IOException {
+            buffer.clear();
+            int read = channel.read(buffer);
+            if (read < 0) {
+                throw new IOException("Conexão encerrada pelo servidor");
+            }
+            buffer.flip();
+            if (size + read > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + read));
+            }
+            buffer.get(data, size, read);
+            size += read;
+            if (bodyStart < 0 && !parseHeaders()) {
+                return false;
+            }
+            return chunked ? endsWithLastChunk() : size - bodyStart >= contentLength;
+        }
+
+        private boolean parseHeaders() {
+            for (int i = 3; i < size; i++) {
+                if (data[i - 3] == '\r' && data[i - 2] == '\n' && data[i - 1] == '\r' && data[i] == '\n') {
+                    bodyStart = i + 1;
+                    break;
+                }
+            }
+            if (bodyStart < 0) {
+                return false;
+            }
+            String[] lines = new String(data, 0, bodyStart, StandardCharsets.US_ASCII).split("\r\n");
+            status = Integer.parseInt(lines[0].split(" ")[1]);
+            for (int i = 1; i < lines.length; i++) {
+                String lower = lines[i].toLowerCase(Locale.ROOT);
+                if (lower.startsWith("content-length:")) {
+                    contentLength = Long.parseLong(lower.substring("content-length:".length()).trim());
+                } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+                    chunked = true;
+                }
+            }
+            return true;
+        }
+
+        // Último chunk vazio sem trailers: "0\r\n\r\n" (o JSON do corpo não tem quebras de linha)
+        private boolean endsWithLastChunk() {
+            return size - bodyStart >= 5 && data[size - 5] == '0' && data[size - 4] == '\r' && data[size - 3] == '\n'
+                    && data[size - 2] == '\r' && data[size - 1] == '\n';
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.techmanage.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techmanage.dto.UserSearchResult;
+import com.techmanage.service.UserSearchIndex;
+
+/**
+ * Busca top-10 em GET /api/users/search sobre o índice em memória com 1M usuários.
+ * Termos: muito frequente ("usu"), seletivo ("user123456"), prefixo curto ("us") e sem resultado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserSearchIndexBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"usu", "user123456", "us", "ario 99999", "inexistente"})
+    private String query;
+
+    private UserSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new UserSearchIndex();
+        index.rebuild(BenchmarkSupport.users(size).iterator());
+    }
+
+    @Benchmark
+    public List<UserSearchResult> search() {
+        return index.search(query, 10);
+    }
+}
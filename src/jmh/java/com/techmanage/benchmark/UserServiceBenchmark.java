@@ -0,0 +1,75 @@
+package com.techmanage.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.techmanage.TechManageApplication;
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.service.UserService;
+
+/**
+ * createUser contra H2 embarcado já populado com {@code tableSize} usuários.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TechManageApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(BenchmarkSupport.applicationArgs("user-service-benchmark"));
+        userService = context.getBean(UserService.class);
+
+        // Carga inicial em SQL puro; telefones com DDI +1 nunca colidem com os gerados no benchmark (+55)
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, phone, birth_date, user_type, address, version) "
+                + "SELECT X, 'Usuário ' || X, 'seed' || X || '@techmanage.com', "
+                + "'+1 00 ' || LPAD(CAST(X / 10000 AS VARCHAR), 5, '0') || '-' || LPAD(CAST(MOD(X, 10000) AS VARCHAR), 4, '0'), "
+                + "DATE '1990-05-15', 'VIEWER', 'Rua Teste, 123', 0 FROM SYSTEM_RANGE(1, ?)", tableSize);
+        jdbcTemplate.execute("ALTER SEQUENCE users_seq RESTART WITH " + (tableSize + 100));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User createUser() {
+        long n = sequence.incrementAndGet();
+        User user = new User("Benchmark " + n, "bench" + n + "@techmanage.com", BenchmarkSupport.phoneFor(n),
+                BenchmarkSupport.BIRTH_DATE, UserType.EDITOR, "Rua Teste, 123");
+        return userService.createUser(user);
+    }
+}
@@ -0,0 +1,53 @@
+package com.techmanage.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String USER_CACHE = "users";
+
+    @Value("${techmanage.cache.users.maximum-size:10000}")
+    private long userCacheMaximumSize;
+
+    @Value("${techmanage.cache.users.expire-after-write:10m}")
+    private Duration userCacheExpireAfterWrite;
+
+    // Um CacheManager por contexto evita compartilhar regiões (e nomes JMX) entre contextos na mesma JVM
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("techmanage:" + ObjectUtils.getIdentityHexString(this)),
+                        getClass().getClassLoader());
+
+        CaffeineConfiguration<Object, Object> userCache = new CaffeineConfiguration<>();
+        userCache.setMaximumSize(OptionalLong.of(userCacheMaximumSize));
+        userCache.setExpireAfterWrite(OptionalLong.of(userCacheExpireAfterWrite.toNanos()));
+        userCache.setStoreByValue(false);
+        userCache.setStatisticsEnabled(true);
+        userCache.setManagementEnabled(true);
+        cacheManager.createCache(USER_CACHE, userCache);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,26 @@
+package com.techmanage.config;
+
+import javax.cache.CacheManager;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+@Configuration
+public class MetricsConfig {
+
+    // Habilita @Timed em beans fora da camada web (ex.: UserServiceImpl)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder userCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(CacheConfig.USER_CACHE));
+    }
+}
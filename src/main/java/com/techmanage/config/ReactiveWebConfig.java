@@ -0,0 +1,73 @@
+package com.techmanage.config;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.techmanage.controller.ReactiveUserHandler;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Pilha reativa (perfil reactive): Netty, rotas de /api/users e o mesmo CORS de WebConfig.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveWebConfig {
+
+    // O Boot desliga o DataSource quando há um ConnectionFactory R2DBC; o JDBC continua criando o schema,
+    // rodando o data.sql e atendendo os componentes JPA (índices, filtros) sobre o mesmo banco
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Sem esta fábrica o Boot usaria o Tomcat, que também está no classpath e tem prioridade
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(ReactiveUserHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/users", users -> users
+                        .POST("", handler::createUser)
+                        .GET("", RequestPredicates.queryParam("limit", limit -> true), handler::getUsersPage)
+                        .GET("", handler::getAllUsers)
+                        .GET("/export", handler::exportUsers)
+                        .GET("/{id}", handler::getUserById)
+                        .PUT("/{id}", handler::updateUser)
+                        .DELETE("/{id}", handler::deleteUser))
+                .build();
+    }
+
+    @Bean
+    public CorsWebFilter corsWebFilter() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.addAllowedOrigin("http://localhost:4200");
+        config.addAllowedMethod("GET");
+        config.addAllowedMethod("POST");
+        config.addAllowedMethod("PUT");
+        config.addAllowedMethod("DELETE");
+        config.addAllowedMethod("OPTIONS");
+        config.addAllowedHeader("*");
+        config.setAllowCredentials(true);
+        config.setMaxAge(3600L);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", config);
+        return new CorsWebFilter(source);
+    }
+}
@@ -0,0 +1,109 @@
+package com.techmanage.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.techmanage.entity.User;
+
+/**
+ * Escreve User e List&lt;User&gt; em application/x-protobuf seguindo proto/user.proto.
+ * Só escrita: criação e atualização continuam em JSON.
+ */
+public class UserProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final String SCHEMA_LOCATION = "/proto/user.proto";
+
+    private final ObjectWriter userWriter;
+    private final ObjectWriter userListWriter;
+
+    public UserProtobufHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        super(APPLICATION_PROTOBUF);
+        // birthDate é string em user.proto: a data sai sempre em ISO-8601, independente de spring.jackson.*
+        ObjectMapper mapper = builder.createXmlMapper(false)
+                .factory(new ProtobufFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        NativeProtobufSchema schema = loadSchema();
+        this.userWriter = mapper.writer(schema.forType("User"));
+        this.userListWriter = mapper.writer(schema.forType("UserList"));
+    }
+
+    // Usado também pelo benchmark de formatos
+    public void writeUsers(List<User> users, OutputStream outputStream) throws IOException {
+        userListWriter.writeValue(outputStream, Map.of("users", users));
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && (User.class.equals(type) || isUserList(type));
+    }
+
+    // Checagem grossa pela classe; o tipo genérico (List<User>) é conferido em canWrite
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return User.class.equals(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (value instanceof User user) {
+            userWriter.writeValue(outputMessage.getBody(), user);
+        } else {
+            @SuppressWarnings("unchecked")
+            List<User> users = (List<User>) value;
+            writeUsers(users, outputMessage.getBody());
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Leitura de protobuf não suportada", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Leitura de protobuf não suportada", inputMessage);
+    }
+
+    private static boolean isUserList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && User.class.equals(parameterized.getActualTypeArguments()[0]);
+    }
+
+    private static NativeProtobufSchema loadSchema() {
+        try (InputStream in = UserProtobufHttpMessageConverter.class.getResourceAsStream(SCHEMA_LOCATION)) {
+            return ProtobufSchemaLoader.std.loadNative(in, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível carregar " + SCHEMA_LOCATION, e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.techmanage.config;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Modo de execução "virtual" (techmanage.server.execution-mode=virtual): cada requisição do Tomcat e cada
+ * resposta assíncrona do MVC (StreamingResponseBody do export) roda em uma virtual thread, no lugar do pool
+ * fixo de worker threads. Uma requisição bloqueada no JDBC não ocupa thread de plataforma, e quem limita
+ * a concorrência no banco passa a ser o pool do HikariCP.
+ *
+ * O build continua em Java 17: o executor é obtido por reflexão e, em runtimes sem virtual threads
+ * (anteriores ao Java 21), o pool do Tomcat é mantido com um aviso no log.
+ */
+@Configuration
+@ConditionalOnProperty(name = "techmanage.server.execution-mode", havingValue = "virtual")
+public class VirtualThreadConfig implements WebMvcConfigurer, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private final ExecutorService virtualThreads;
+
+    public VirtualThreadConfig() {
+        this.virtualThreads = newVirtualThreadPerTaskExecutor().orElse(null);
+        if (virtualThreads == null) {
+            log.warn("techmanage.server.execution-mode=virtual requer Java 21+ (runtime atual: {}); "
+                    + "mantendo o pool de threads do Tomcat", Runtime.version());
+        }
+    }
+
+    // O executor externo não é gerenciado pelo Tomcat: é encerrado em destroy(), depois que o servidor para
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (virtualThreads != null) {
+                protocolHandler.setExecutor(virtualThreads);
+            }
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        if (virtualThreads != null) {
+            configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreads));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (virtualThreads != null) {
+            virtualThreads.shutdown();
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() existe (sem --enable-preview) a partir do Java 21; também usado pelo UserChangeFeed
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        if (Runtime.version().feature() < 21) {
+            return Optional.empty();
+        }
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of((ExecutorService) factory.invoke(null));
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Não foi possível criar o executor de virtual threads", ex);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.techmanage.controller;
+
+import java.util.Optional;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.service.ReactiveUserService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Handlers da pilha reativa (perfil reactive) com o mesmo contrato de UserController para criação,
+ * listagem (inteira, paginada por cursor e NDJSON), leitura, atualização e exclusão. Rotas em ReactiveWebConfig.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveUserHandler {
+
+    private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+
+    @Autowired
+    private ReactiveUserService userService;
+
+    public Mono<ServerResponse> createUser(ServerRequest request) {
+        return body(request)
+                .flatMap(userService::createUser)
+                .flatMap(user -> ServerResponse.status(HttpStatus.CREATED).bodyValue(user));
+    }
+
+    // Lista em streaming: o array JSON é escrito conforme as linhas chegam do banco
+    public Mono<ServerResponse> getAllUsers(ServerRequest request) {
+        return userService.getUsersVersion()
+                .map(UserETags::collection)
+                .flatMap(etag -> request.checkNotModified(etag)
+                        .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                                .eTag(etag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(userService.getAllUsers(), User.class))));
+    }
+
+    public Mono<ServerResponse> getUsersPage(ServerRequest request) {
+        int limit = requiredParam(request, "limit", Integer.class);
+        Long cursor = param(request, "cursor", Long.class, null);
+        Sort.Direction sort = param(request, "sort", Sort.Direction.class, Sort.Direction.ASC);
+        UserType userType = param(request, "userType", UserType.class, null);
+        return userService.getUsersPage(cursor, limit, sort, userType)
+                .flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    public Mono<ServerResponse> exportUsers(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService.getAllUsers(), User.class);
+    }
+
+    public Mono<ServerResponse> getUserById(ServerRequest request) {
+        return userService.getUserById(id(request))
+                .flatMap(user -> {
+                    String etag = UserETags.of(user);
+                    return request.checkNotModified(etag)
+                            .switchIfEmpty(Mono.defer(() -> ServerResponse.ok().eTag(etag).bodyValue(user)));
+                });
+    }
+
+    public Mono<ServerResponse> updateUser(ServerRequest request) {
+        Long id = id(request);
+        Long expectedVersion = UserETags.expectedVersion(id, request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return body(request)
+                .flatMap(user -> userService.updateUser(id, user, expectedVersion))
+                .flatMap(user -> ServerResponse.ok().eTag(UserETags.of(user)).bodyValue(user));
+    }
+
+    public Mono<ServerResponse> deleteUser(ServerRequest request) {
+        return userService.deleteUser(id(request))
+                .then(ServerResponse.noContent().build());
+    }
+
+    // Corpo ausente é tratado como JSON inválido, como no @RequestBody do MVC
+    private static Mono<User> body(ServerRequest request) {
+        return request.bodyToMono(User.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Formato JSON inválido")));
+    }
+
+    private static Long id(ServerRequest request) {
+        return convert("id", request.pathVariable("id"), Long.class);
+    }
+
+    // Conversão como a dos @RequestParam do MVC: valor inválido vira TypeMismatchException (400)
+    private static <T> T param(ServerRequest request, String name, Class<T> type, T defaultValue) {
+        Optional<String> value = request.queryParam(name);
+        return value.isPresent() ? convert(name, value.get(), type) : defaultValue;
+    }
+
+    // Parâmetro obrigatório que a rota exige: vazio (?limit=) converte para null e também é 400
+    private static <T> T requiredParam(ServerRequest request, String name, Class<T> type) {
+        String value = request.queryParam(name).orElse("");
+        T converted = convert(name, value, type);
+        if (converted == null) {
+            throw invalidParam(name, value, type, null);
+        }
+        return converted;
+    }
+
+    private static <T> T convert(String name, String value, Class<T> type) {
+        try {
+            return CONVERSION.convert(value, type);
+        } catch (ConversionException ex) {
+            throw invalidParam(name, value, type, ex);
+        }
+    }
+
+    private static ServerWebInputException invalidParam(String name, String value, Class<?> type, Throwable cause) {
+        TypeMismatchException mismatch = new TypeMismatchException(value, type, cause);
+        mismatch.initPropertyName(name);
+        return new ServerWebInputException("Valor inválido para " + name, null, mismatch);
+    }
+}
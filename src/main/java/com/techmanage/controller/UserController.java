@@ -1,44 +1,294 @@
 package com.techmanage.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techmanage.dto.BulkUserResult;
+import com.techmanage.dto.UserAvailability;
+import com.techmanage.dto.UserBatch;
+import com.techmanage.dto.UserDelta;
+import com.techmanage.dto.UserPage;
+import com.techmanage.dto.UserSearchResult;
 import com.techmanage.entity.User;
+import com.techmanage.entity.UserChange;
+import com.techmanage.entity.UserType;
+import com.techmanage.exception.UserValidationException;
+import com.techmanage.service.UserChangeFeed;
+import com.techmanage.service.UserIdempotencyStore;
 import com.techmanage.service.UserService;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final byte[] SSE_EVENT_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+    // Comentário SSE: ignorado pelo EventSource
+    private static final byte[] SSE_HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserIdempotencyStore idempotencyStore;
+
+    // Com Idempotency-Key, retries (e requisições simultâneas) com a mesma chave recebem a resposta da primeira
     @PostMapping
-    public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
-        User createdUser = userService.createUser(user);
-        return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
+    public ResponseEntity<User> createUser(@Valid @RequestBody User user,
+                                           @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            User createdUser = userService.createUser(user);
+            return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
+        }
+        UserIdempotencyStore.Response response = idempotencyStore.execute(idempotencyKey, user, () -> userService.createUser(user));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(response.replayed()))
+                .body(response.user());
     }
 
+    // Aceita um array JSON ou NDJSON; o corpo é lido em streaming e processado em chunks
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<List<BulkUserResult>> createUsers(HttpServletRequest request) throws IOException {
+        try (MappingIterator<User> users = objectMapper.readerFor(User.class).readValues(request.getInputStream())) {
+            List<BulkUserResult> results = userService.createUsers(users);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Formato JSON inválido", e, new ServletServerHttpRequest(request));
+        } catch (RuntimeException e) {
+            // MappingIterator encapsula erros de parsing em exceções não checadas
+            if (e.getCause() instanceof JsonProcessingException) {
+                throw new HttpMessageNotReadableException("Formato JSON inválido", e.getCause(), new ServletServerHttpRequest(request));
+            }
+            throw e;
+        }
+    }
+
+    // ETag da coleção vem de uma consulta agregada: com If-None-Match igual, a lista nem é carregada
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<User>> getAllUsers(WebRequest webRequest) {
+        String etag = collectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         List<User> users = userService.getAllUsers();
-        return new ResponseEntity<>(users, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(etag).body(users);
+    }
+
+    // Sparse fieldset (?fields=fullName,email): o SELECT traz só essas colunas, sem carregar entidades.
+    // Só na lista inteira: com limit ou ids a projeção seria ignorada, então a requisição é recusada
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllUsers(@RequestParam List<String> fields, WebRequest webRequest) {
+        if (webRequest.getParameter("limit") != null || webRequest.getParameter("ids") != null) {
+            throw new UserValidationException(Map.of("fields", "Não pode ser combinado com limit ou ids"));
+        }
+        String etag = collectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<Map<String, Object>> users = userService.getAllUsers(fields);
+        return ResponseEntity.ok().eTag(etag).body(users);
+    }
+
+    @GetMapping(params = {"limit", "!fields"})
+    public ResponseEntity<UserPage> getUsersPage(@RequestParam int limit,
+                                                 @RequestParam(required = false) Long cursor,
+                                                 @RequestParam(defaultValue = "ASC") Sort.Direction sort,
+                                                 @RequestParam(required = false) UserType userType) {
+        UserPage page = userService.getUsersPage(cursor, limit, sort, userType);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    // Sincronização incremental: sem since, tudo (paginado); com o nextToken anterior, só criados, alterados e excluídos
+    @GetMapping("/delta")
+    public ResponseEntity<UserDelta> getUsersDelta(@RequestParam(required = false) String since,
+                                                   @RequestParam(defaultValue = "100") int limit) {
+        UserDelta delta = userService.getUsersDelta(since, limit);
+        return new ResponseEntity<>(delta, HttpStatus.OK);
+    }
+
+    // Busca vários usuários de uma vez (?ids=3,1,2): ordem preservada e ids inexistentes em missingIds
+    @GetMapping(params = {"ids", "!limit", "!fields"})
+    public ResponseEntity<UserBatch> getUsersByIds(@RequestParam List<Long> ids) {
+        UserBatch batch = userService.getUsersByIds(ids);
+        return new ResponseEntity<>(batch, HttpStatus.OK);
+    }
+
+    // Busca por nome/email (sem acento e sem caixa) servida pelo índice em memória
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSearchResult>> searchUsers(@RequestParam(required = false) String q,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        List<UserSearchResult> results = userService.searchUsers(q, limit);
+        return new ResponseEntity<>(results, HttpStatus.OK);
     }
 
+    // Disponibilidade de email/telefone para formulários de cadastro; negativos do filtro de Bloom não vão ao banco
+    @GetMapping("/availability")
+    public ResponseEntity<UserAvailability> checkAvailability(@RequestParam(required = false) String email,
+                                                              @RequestParam(required = false) String phone) {
+        UserAvailability availability = userService.checkAvailability(email, phone);
+        return new ResponseEntity<>(availability, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            userService.exportUsers(user -> {
+                try {
+                    generator.writeObject(user);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Feed de alterações em Server-Sent Events; na reconexão o EventSource envia Last-Event-ID e o feed
+    // reenvia, a partir do outbox, o que aconteceu depois desse id. Os eventos são escritos por uma thread
+    // do feed, não pelo executor assíncrono do MVC; status e headers saem assim que o handler retorna
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamChanges(
+            @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        // Erro (cliente desconectado), timeout e fim do request assíncrono chegam numa thread do container, que
+        // em seguida recicla a resposta para outra conexão: o callback espera o send em andamento e os seguintes
+        // falham, em vez de escrever na resposta reciclada
+        ReentrantLock sending = new ReentrantLock();
+        AtomicBoolean closed = new AtomicBoolean();
+        Runnable close = () -> {
+            sending.lock();
+            try {
+                closed.set(true);
+            } finally {
+                sending.unlock();
+            }
+        };
+        emitter.onTimeout(close);
+        emitter.onError(ex -> close.run());
+        emitter.onCompletion(close);
+        userService.streamChanges(lastEventId, new UserChangeFeed.Subscriber() {
+            @Override
+            public void onChanges(List<UserChange> changes) throws IOException {
+                ByteArrayOutputStream events = new ByteArrayOutputStream();
+                for (UserChange change : changes) {
+                    events.writeBytes(("id: " + change.getId() + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+                    events.writeBytes(objectMapper.writeValueAsBytes(change));
+                    events.writeBytes(SSE_EVENT_END);
+                }
+                send(emitter, sending, closed, events.toByteArray());
+            }
+
+            @Override
+            public void onIdle() throws IOException {
+                send(emitter, sending, closed, SSE_HEARTBEAT);
+            }
+        }).whenComplete((result, ex) -> {
+            if (ex == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(ex);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noCache())
+                .body(emitter);
+    }
+
+    // Emitter já encerrado pelo container equivale a cliente desconectado: encerra o stream
+    private static void send(ResponseBodyEmitter emitter, ReentrantLock sending, AtomicBoolean closed, byte[] bytes)
+            throws IOException {
+        sending.lock();
+        try {
+            if (closed.get()) {
+                throw new IOException("Stream SSE encerrado");
+            }
+            emitter.send(bytes, MediaType.TEXT_EVENT_STREAM);
+        } catch (IllegalStateException ex) {
+            throw new IOException(ex);
+        } finally {
+            sending.unlock();
+        }
+    }
+
+    // Com If-None-Match igual ao ETag, o Spring responde 304 sem serializar o corpo
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         User user = userService.getUserById(id);
-        return new ResponseEntity<>(user, HttpStatus.OK);
+        return withETag(user);
     }
 
+    // If-Match: atualização condicional (412 se a versão mudou); sem o header, a atualização é incondicional
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User user) {
-        User updatedUser = userService.updateUser(id, user);
-        return new ResponseEntity<>(updatedUser, HttpStatus.OK);
+    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User user,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = UserETags.expectedVersion(id, ifMatch);
+        User updatedUser = expectedVersion == null
+                ? userService.updateUser(id, user)
+                : userService.updateUser(id, user, expectedVersion);
+        return withETag(updatedUser);
+    }
+
+    // JSON Merge Patch (RFC 7396): campos ausentes ficam como estão, null limpa o campo
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<User> patchUser(@PathVariable Long id, @RequestBody JsonNode patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          HttpServletRequest request) {
+        if (!patch.isObject()) {
+            throw new HttpMessageNotReadableException("Formato JSON inválido", new ServletServerHttpRequest(request));
+        }
+        User changes;
+        try {
+            changes = objectMapper.treeToValue(patch, User.class);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Formato JSON inválido", e, new ServletServerHttpRequest(request));
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        patch.fieldNames().forEachRemaining(fields::add);
+
+        User patchedUser = userService.patchUser(id, changes, fields, UserETags.expectedVersion(id, ifMatch));
+        return withETag(patchedUser);
     }
 
     @DeleteMapping("/{id}")
@@ -46,4 +296,16 @@ public class UserController {
         userService.deleteUser(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
-}
\ No newline at end of file
+
+    private String collectionETag() {
+        return UserETags.collection(userService.getUsersVersion());
+    }
+
+    // ETag forte por usuário: "<id>-<versão>"
+    private static ResponseEntity<User> withETag(User user) {
+        if (user == null || user.getVersion() == null) {
+            return new ResponseEntity<>(user, HttpStatus.OK);
+        }
+        return ResponseEntity.ok().eTag(UserETags.of(user)).body(user);
+    }
+}
@@ -0,0 +1,48 @@
+package com.techmanage.controller;
+
+import com.techmanage.entity.User;
+import com.techmanage.exception.UserVersionConflictException;
+
+/**
+ * ETags de /api/users compartilhados por UserController e ReactiveUserHandler: forte por usuário
+ * ("<id>-<versão>"), fraco para a coleção e a leitura da versão esperada no If-Match.
+ */
+final class UserETags {
+
+    private UserETags() {
+    }
+
+    static String of(User user) {
+        return "\"" + user.getId() + "-" + user.getVersion() + "\"";
+    }
+
+    // Fraco: a mesma versão é servida em JSON/CBOR/Smile/protobuf e, acima de 2KB, com gzip
+    // (o Tomcat não comprime respostas com ETag forte). If-None-Match usa comparação fraca, então o 304 continua
+    static String collection(String version) {
+        return "W/\"" + version + "\"";
+    }
+
+    // Versão esperada pelo If-Match; null sem o header ou com "*"
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        return versionFromIfMatch(id, ifMatch);
+    }
+
+    // If-Match usa comparação forte: ETags fracos (W/) ou de outro usuário não casam
+    private static long versionFromIfMatch(Long id, String ifMatch) {
+        String prefix = "\"" + id + "-";
+        for (String etag : ifMatch.split(",")) {
+            etag = etag.trim();
+            if (etag.startsWith(prefix) && etag.endsWith("\"") && etag.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+                } catch (NumberFormatException ex) {
+                    // segue para o próximo ETag da lista
+                }
+            }
+        }
+        throw new UserVersionConflictException(id);
+    }
+}
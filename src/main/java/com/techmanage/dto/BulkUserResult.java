@@ -0,0 +1,57 @@
+package com.techmanage.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"index", "status", "id", "fieldErrors"})
+public class BulkUserResult {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE
+    }
+
+    private final int index;
+    private final Status status;
+    private final Long id;
+    private final Map<String, String> fieldErrors;
+
+    private BulkUserResult(int index, Status status, Long id, Map<String, String> fieldErrors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.fieldErrors = fieldErrors;
+    }
+
+    public static BulkUserResult created(int index, Long id) {
+        return new BulkUserResult(index, Status.CREATED, id, null);
+    }
+
+    public static BulkUserResult invalid(int index, Map<String, String> fieldErrors) {
+        return new BulkUserResult(index, Status.INVALID, null, fieldErrors);
+    }
+
+    public static BulkUserResult duplicate(int index, Map<String, String> fieldErrors) {
+        return new BulkUserResult(index, Status.DUPLICATE, null, fieldErrors);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Map<String, String> getFieldErrors() {
+        return fieldErrors;
+    }
+}
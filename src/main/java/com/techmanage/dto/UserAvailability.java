@@ -0,0 +1,25 @@
+package com.techmanage.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// Resposta de GET /api/users/availability; só os campos consultados aparecem
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"emailAvailable", "phoneAvailable"})
+public class UserAvailability {
+    private final Boolean emailAvailable;
+    private final Boolean phoneAvailable;
+
+    public UserAvailability(Boolean emailAvailable, Boolean phoneAvailable) {
+        this.emailAvailable = emailAvailable;
+        this.phoneAvailable = phoneAvailable;
+    }
+
+    public Boolean getEmailAvailable() {
+        return emailAvailable;
+    }
+
+    public Boolean getPhoneAvailable() {
+        return phoneAvailable;
+    }
+}
@@ -0,0 +1,30 @@
+package com.techmanage.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.techmanage.entity.User;
+
+// Resultado da busca por vários ids: usuários na ordem pedida e ids inexistentes
+@JsonPropertyOrder({"content", "size", "missingIds"})
+public class UserBatch {
+    private final List<User> content;
+    private final List<Long> missingIds;
+
+    public UserBatch(List<User> content, List<Long> missingIds) {
+        this.content = content;
+        this.missingIds = missingIds;
+    }
+
+    public List<User> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return content.size();
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
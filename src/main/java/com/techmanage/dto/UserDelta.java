@@ -0,0 +1,38 @@
+package com.techmanage.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.techmanage.entity.User;
+
+// Página da sincronização incremental: usuários criados/alterados e ids excluídos depois do token "since"
+@JsonPropertyOrder({"users", "deletedIds", "nextToken", "hasMore"})
+public class UserDelta {
+    private final List<User> users;
+    private final List<Long> deletedIds;
+    private final String nextToken;
+    private final boolean hasMore;
+
+    public UserDelta(List<User> users, List<Long> deletedIds, String nextToken, boolean hasMore) {
+        this.users = users;
+        this.deletedIds = deletedIds;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
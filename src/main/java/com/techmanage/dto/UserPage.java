@@ -0,0 +1,33 @@
+package com.techmanage.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.techmanage.entity.User;
+
+@JsonPropertyOrder({"content", "size", "nextCursor", "hasNext"})
+public class UserPage {
+    private final List<User> content;
+    private final Long nextCursor;
+
+    public UserPage(List<User> content, Long nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<User> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return content.size();
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
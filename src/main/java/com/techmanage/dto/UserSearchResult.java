@@ -0,0 +1,29 @@
+package com.techmanage.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// Resultado de GET /api/users/search, servido direto do índice em memória (sem ida ao banco)
+@JsonPropertyOrder({"id", "fullName", "email"})
+public class UserSearchResult {
+    private final Long id;
+    private final String fullName;
+    private final String email;
+
+    public UserSearchResult(Long id, String fullName, String email) {
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,66 @@
+package com.techmanage.entity;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Resposta de um POST /api/users com Idempotency-Key (tabela idempotency_keys), gravada só com
+ * techmanage.idempotency.persistent=true para sobreviver a reinícios e valer entre instâncias.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    // SHA-256 (hex) do corpo da requisição original: a mesma chave com outro corpo é rejeitada
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    // Usuário criado, em JSON
+    @Column(name = "response_body", nullable = false, length = 4000)
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String key, String requestHash, String responseBody, Instant createdAt) {
+        this.key = key;
+        this.requestHash = requestHash;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "key='" + key + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
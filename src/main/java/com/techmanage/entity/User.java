@@ -1,7 +1,10 @@
 package com.techmanage.entity;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -9,23 +12,46 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Past;
 import javax.validation.constraints.Pattern;
 
-import com.fasterxml.jackson.annotation.JsonGetter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 @Entity
-@Table(name = "users")
-@JsonPropertyOrder({"id", "fullName", "email", "phone", "birthDate", "userType", "address"})
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = User.PHONE_UNIQUE_CONSTRAINT, columnNames = "phone")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@DynamicUpdate
+@JsonPropertyOrder({"id", "fullName", "email", "phone", "birthDate", "userType", "address", "createdAt", "updatedAt"})
 public class User {
 
+    // Nomes das constraints únicas (também em schema.sql); usados para traduzir violações em erros de domínio
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email";
+    public static final String PHONE_UNIQUE_CONSTRAINT = "uk_users_phone";
+
+    // Sequence com allocationSize > 1 permite JDBC batching nos inserts (IDENTITY desabilita)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome completo é obrigatório")
@@ -34,7 +60,7 @@ public class User {
 
     @Email(message = "Email deve ter um formato válido")
     @NotBlank(message = "Email é obrigatório")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @Column(name = "address")
@@ -55,13 +81,35 @@ public class User {
     @Column(name = "user_type", nullable = false)
     private UserType userType;
 
+    // Controle de concorrência otimista; exposto aos clientes apenas pelo ETag
+    @Version
+    @JsonIgnore
+    @Column(nullable = false)
+    private Long version;
+
+    // Auditoria preenchida pela aplicação (o default cobre os inserts do data.sql); updated_at, com o id
+    // como desempate, é a chave da sincronização incremental (GET /api/users/delta)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("LOCALTIMESTAMP")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("LOCALTIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
     public User() {
     }
 
+    public User(String fullName, String email, String phone, LocalDate birthDate, UserType userType) {
+        this(fullName, email, phone, birthDate, userType, null);
+    }
+
 public User(String fullName, String email, String phone, LocalDate birthDate, UserType userType, String address) {
     this.fullName = fullName;
     this.email = email;
-    this.phone = phone;
+    this.phone = normalizePhone(phone);
     this.birthDate = birthDate;
     this.userType = userType;
     this.address = address;
@@ -75,6 +123,43 @@ public User(String fullName, String email, String phone, LocalDate birthDate, Us
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // Microssegundos: a precisão da coluna TIMESTAMP, para o token do delta comparar igual ao valor gravado.
+    // Com @DynamicUpdate, um update sem campo alterado não chega aqui e não muda updated_at
+    @PrePersist
+    void onCreate() {
+        createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     public String getFullName() {
         return fullName;
     }
@@ -99,24 +184,34 @@ public User(String fullName, String email, String phone, LocalDate birthDate, Us
     this.address = address;
     }
 
-    @JsonGetter("phone")
     public String getPhone() {
-        if (phone != null && phone.matches("^\\+\\d{1,3}\\d{2}\\d{4,5}\\d{4}$")) {
-            // Se o telefone está sem formatação, aplicar formato +XX XX XXXXX-XXXX
-            String digits = phone.substring(1); // Remove o +
-            if (digits.length() >= 10) {
-                String countryCode = digits.substring(0, 2);
-                String areaCode = digits.substring(2, 4);
-                String firstPart = digits.substring(4, digits.length() - 4);
-                String lastPart = digits.substring(digits.length() - 4);
-                return "+" + countryCode + " " + areaCode + " " + firstPart + "-" + lastPart;
-            }
-        }
         return phone;
     }
 
     public void setPhone(String phone) {
-        this.phone = phone;
+        this.phone = normalizePhone(phone);
+    }
+
+    // Normaliza na escrita "+XXXXXXXXXXXXX" (11 a 14 dígitos) para o formato +XX XX XXXXX-XXXX,
+    // assim a leitura/serialização devolve o valor armazenado sem regex nem concatenação
+    // Roda na desserialização, antes do @Valid: a API aceita "+5511999999999" e grava "+55 11 99999-9999"
+    public static String normalizePhone(String phone) {
+        if (phone == null || phone.length() < 12 || phone.length() > 15 || phone.charAt(0) != '+') {
+            return phone;
+        }
+        int length = phone.length();
+        for (int i = 1; i < length; i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return phone;
+            }
+        }
+        return new StringBuilder(length + 3)
+                .append(phone, 0, 3).append(' ')
+                .append(phone, 3, 5).append(' ')
+                .append(phone, 5, length - 4).append('-')
+                .append(phone, length - 4, length)
+                .toString();
     }
 
     public LocalDate getBirthDate() {
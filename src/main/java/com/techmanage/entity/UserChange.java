@@ -0,0 +1,103 @@
+package com.techmanage.entity;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Linha do outbox de alterações (tabela user_changes), gravada na mesma transação da escrita do usuário.
+ * O id é o id do evento no feed SSE (Last-Event-ID); a linha nunca é alterada depois de inserida.
+ */
+@Entity
+@Table(name = "user_changes")
+@JsonPropertyOrder({"id", "userId", "operation", "version", "changedFields", "occurredAt"})
+public class UserChange {
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    // Mesma estratégia de users: sequence com blocos de 50 para os inserts em batch da importação em lote
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_changes_seq")
+    @SequenceGenerator(name = "user_changes_seq", sequenceName = "user_changes_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Operation operation;
+
+    @Column(nullable = false)
+    private Long version;
+
+    // Nomes dos campos separados por vírgula (vazio na exclusão)
+    @Column(name = "changed_fields", nullable = false)
+    private String changedFields;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    protected UserChange() {
+    }
+
+    public UserChange(User user, Operation operation, Collection<String> changedFields) {
+        this.userId = user.getId();
+        this.operation = operation;
+        this.version = user.getVersion();
+        this.changedFields = String.join(",", changedFields);
+        this.occurredAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public List<String> getChangedFields() {
+        return changedFields.isEmpty() ? List.of() : Arrays.asList(changedFields.split(","));
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UserChange{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", operation=" + operation +
+                ", version=" + version +
+                ", changedFields='" + changedFields + '\'' +
+                '}';
+    }
+}
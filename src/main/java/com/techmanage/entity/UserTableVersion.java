@@ -0,0 +1,43 @@
+package com.techmanage.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Versão da tabela users (tabela users_version, linha única id = 1) usada no ETag da coleção.
+ * Incrementada no fim de cada transação de escrita da API (UserRepository.incrementTableVersion),
+ * então ler a versão não depende do tamanho da tabela users.
+ */
+@Entity
+@Table(name = "users_version")
+public class UserTableVersion {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    protected UserTableVersion() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "UserTableVersion{" +
+                "id=" + id +
+                ", version=" + version +
+                '}';
+    }
+}
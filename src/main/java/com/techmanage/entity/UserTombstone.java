@@ -0,0 +1,51 @@
+package com.techmanage.entity;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Marca de exclusão (tabela user_tombstones), gravada na mesma transação do DELETE para que a
+ * sincronização incremental informe a remoção a quem já tinha o usuário. Ids não são reutilizados
+ * (users_seq), então basta uma linha por usuário; linhas mais antigas que a retenção são removidas.
+ */
+@Entity
+@Table(name = "user_tombstones")
+public class UserTombstone {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Mesma precisão de users.updated_at: as duas colunas formam a mesma sequência do token do delta
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    protected UserTombstone() {
+    }
+
+    public UserTombstone(Long userId) {
+        this.userId = userId;
+        this.deletedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UserTombstone{" +
+                "userId=" + userId +
+                ", deletedAt=" + deletedAt +
+                '}';
+    }
+}
@@ -0,0 +1,106 @@
+package com.techmanage.exception;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Corpo imutável das respostas 4xx. Textos de erro e fieldErrors constantes são pré-montados
+ * pelo handler; o timestamp tem resolução de segundos e é formatado uma vez por segundo.
+ */
+@JsonPropertyOrder({"timestamp", "status", "error", "path", "fieldErrors"})
+public final class ApiError {
+
+    public static final String VALIDATION_ERROR = "Erro de validação";
+    public static final String NOT_FOUND = "Recurso não encontrado";
+    public static final String PRECONDITION_FAILED = "Versão desatualizada";
+    public static final String GONE = "Recurso não está mais disponível";
+    public static final String CONFLICT = "Conflito";
+    public static final String UNPROCESSABLE_ENTITY = "Requisição não pode ser processada";
+    public static final String SERVICE_UNAVAILABLE = "Serviço indisponível";
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(Long.MIN_VALUE, null);
+
+    private final String timestamp;
+    private final int status;
+    private final String error;
+    private final String path;
+    private final Map<String, String> fieldErrors;
+
+    private ApiError(int status, String error, String path, Map<String, String> fieldErrors) {
+        this.timestamp = currentTimestamp();
+        this.status = status;
+        this.error = error;
+        this.path = path;
+        this.fieldErrors = fieldErrors;
+    }
+
+    public static ApiError badRequest(String path, Map<String, String> fieldErrors) {
+        return new ApiError(400, VALIDATION_ERROR, path, fieldErrors);
+    }
+
+    public static ApiError notFound(String path, Map<String, String> fieldErrors) {
+        return new ApiError(404, NOT_FOUND, path, fieldErrors);
+    }
+
+    public static ApiError preconditionFailed(String path, Map<String, String> fieldErrors) {
+        return new ApiError(412, PRECONDITION_FAILED, path, fieldErrors);
+    }
+
+    public static ApiError gone(String path, Map<String, String> fieldErrors) {
+        return new ApiError(410, GONE, path, fieldErrors);
+    }
+
+    public static ApiError conflict(String path, Map<String, String> fieldErrors) {
+        return new ApiError(409, CONFLICT, path, fieldErrors);
+    }
+
+    public static ApiError unprocessableEntity(String path, Map<String, String> fieldErrors) {
+        return new ApiError(422, UNPROCESSABLE_ENTITY, path, fieldErrors);
+    }
+
+    public static ApiError serviceUnavailable(String path, Map<String, String> fieldErrors) {
+        return new ApiError(503, SERVICE_UNAVAILABLE, path, fieldErrors);
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Map<String, String> getFieldErrors() {
+        return fieldErrors;
+    }
+
+    static String currentTimestamp() {
+        long second = System.currentTimeMillis() / 1000;
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached.second() != second) {
+            Instant instant = Instant.ofEpochSecond(second);
+            String text = LocalDateTime.ofInstant(instant, ZoneId.systemDefault()).format(TIMESTAMP_FORMAT);
+            cached = new CachedTimestamp(second, text);
+            cachedTimestamp = cached;
+        }
+        return cached.text();
+    }
+
+    private record CachedTimestamp(long second, String text) {
+    }
+}
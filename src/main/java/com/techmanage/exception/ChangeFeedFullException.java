@@ -0,0 +1,12 @@
+package com.techmanage.exception;
+
+// Feed de alterações com o número máximo de assinantes conectados (techmanage.changes.max-subscribers)
+public class ChangeFeedFullException extends DomainException {
+
+    public static final String FIELD = "changes";
+    public static final String MESSAGE = "Limite de assinantes do feed de alterações atingido. Tente novamente mais tarde.";
+
+    public ChangeFeedFullException() {
+        super(FIELD, MESSAGE);
+    }
+}
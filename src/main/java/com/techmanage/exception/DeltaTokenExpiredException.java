@@ -0,0 +1,12 @@
+package com.techmanage.exception;
+
+// Token de sincronização mais antigo que a retenção das marcas de exclusão: exclusões podem ter se perdido
+public class DeltaTokenExpiredException extends DomainException {
+
+    public static final String FIELD = "since";
+    public static final String MESSAGE = "Token de sincronização expirado. Refaça a sincronização completa (sem since).";
+
+    public DeltaTokenExpiredException() {
+        super(FIELD, MESSAGE);
+    }
+}
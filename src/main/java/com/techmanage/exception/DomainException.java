@@ -0,0 +1,21 @@
+package com.techmanage.exception;
+
+/**
+ * Base das exceções de domínio: as 4xx da API (400, 404, 409, 410, 412, 422) e o 503 do feed de
+ * alterações cheio; o status de cada uma é definido em GlobalExceptionHandler.
+ * São esperadas no fluxo normal, então não capturam stack trace, e carregam o campo afetado de forma
+ * estruturada em vez de embuti-lo na mensagem.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final String field;
+
+    protected DomainException(String field, String message) {
+        super(message, null, false, false);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -1,7 +1,15 @@
 package com.techmanage.exception;
 
-public class EmailAlreadyExistsException extends RuntimeException {
+public class EmailAlreadyExistsException extends DomainException {
+
+    public static final String FIELD = "email";
+    public static final String MESSAGE = "Email já está em uso";
+
+    public EmailAlreadyExistsException() {
+        this(MESSAGE);
+    }
+
     public EmailAlreadyExistsException(String message) {
-        super(message);
+        super(FIELD, message);
     }
-}
\ No newline at end of file
+}
@@ -1,80 +1,101 @@
 package com.techmanage.exception;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
-import java.util.stream.Collectors;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.time.LocalDateTime;
 import javax.servlet.http.HttpServletRequest;
 
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.techmanage.entity.UserType;
+
+// Pilha MVC; no perfil reactive os erros são tratados por ReactiveExceptionHandler
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleUserNotFoundException(UserNotFoundException ex, HttpServletRequest request) {
-        Map<String, Object> response = new HashMap<>();
-        Map<String, String> fieldErrors = new LinkedHashMap<>();
+    // Partes constantes das respostas 4xx, montadas uma única vez (compartilhadas com ReactiveExceptionHandler)
+    static final Map<String, String> EMAIL_IN_USE =
+            Map.of(EmailAlreadyExistsException.FIELD, EmailAlreadyExistsException.MESSAGE);
+    static final Map<String, String> PHONE_IN_USE =
+            Map.of(PhoneAlreadyExistsException.FIELD, PhoneAlreadyExistsException.MESSAGE);
+    static final Map<String, String> INVALID_USER_TYPE =
+            Map.of("userType", "Tipo de usuário inválido. Valores aceitos: ADMIN, EDITOR, VIEWER");
+    static final Map<String, String> INVALID_JSON =
+            Map.of("request", "Formato JSON inválido");
+    static final Map<String, String> VERSION_CONFLICT =
+            Map.of(UserVersionConflictException.FIELD, UserVersionConflictException.MESSAGE);
+    static final Map<String, String> DELTA_TOKEN_EXPIRED =
+            Map.of(DeltaTokenExpiredException.FIELD, DeltaTokenExpiredException.MESSAGE);
+    static final Map<String, String> IDEMPOTENCY_KEY_REUSED =
+            Map.of(IdempotencyKeyReusedException.FIELD, IdempotencyKeyReusedException.MESSAGE);
+    static final Map<String, String> IDEMPOTENCY_KEY_IN_PROGRESS =
+            Map.of(IdempotencyKeyInProgressException.FIELD, IdempotencyKeyInProgressException.MESSAGE);
+    static final Map<String, String> CHANGE_FEED_FULL =
+            Map.of(ChangeFeedFullException.FIELD, ChangeFeedFullException.MESSAGE);
+    static final Map<String, String> UNKNOWN_USER =
+            Map.of(UserNotFoundException.FIELD, UserNotFoundException.MESSAGE_PREFIX + "unknown");
 
-        // Extract ID from message if possible
-        String message = ex.getMessage();
-        String id = "unknown";
-        if (message.contains("ID:")) {
-            id = message.substring(message.indexOf("ID:") + 4).trim();
-        }
-
-        fieldErrors.put("id", "Usuário não encontrado com ID: " + id);
-
-        response.put("fieldErrors", fieldErrors);
-        response.put("timestamp", LocalDateTime.now().toString());
-        response.put("status", HttpStatus.NOT_FOUND.value());
-        response.put("error", "Recurso não encontrado");
-        response.put("path", request.getRequestURI());
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<ApiError> handleUserNotFoundException(UserNotFoundException ex, HttpServletRequest request) {
+        Map<String, String> fieldErrors = ex.getId() == null
+                ? UNKNOWN_USER
+                : Map.of(UserNotFoundException.FIELD, UserNotFoundException.MESSAGE_PREFIX + ex.getId());
 
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        return respond(HttpStatus.NOT_FOUND, ApiError.notFound(request.getRequestURI(), fieldErrors));
     }
 
     @ExceptionHandler(EmailAlreadyExistsException.class)
-    public ResponseEntity<Map<String, Object>> handleEmailAlreadyExistsException(EmailAlreadyExistsException ex, HttpServletRequest request) {
-        Map<String, Object> response = new HashMap<>();
-        Map<String, String> fieldErrors = new LinkedHashMap<>();
+    public ResponseEntity<ApiError> handleEmailAlreadyExistsException(EmailAlreadyExistsException ex, HttpServletRequest request) {
+        return respond(HttpStatus.BAD_REQUEST, ApiError.badRequest(request.getRequestURI(), EMAIL_IN_USE));
+    }
 
-        fieldErrors.put("email", "Este email já está cadastrado no sistema. Por favor, utilize outro email.");
+    @ExceptionHandler(PhoneAlreadyExistsException.class)
+    public ResponseEntity<ApiError> handlePhoneAlreadyExistsException(PhoneAlreadyExistsException ex, HttpServletRequest request) {
+        return respond(HttpStatus.BAD_REQUEST, ApiError.badRequest(request.getRequestURI(), PHONE_IN_USE));
+    }
 
-        response.put("fieldErrors", fieldErrors);
-        response.put("timestamp", LocalDateTime.now().toString());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Erro de validação");
-        response.put("path", request.getRequestURI());
+    @ExceptionHandler(UserValidationException.class)
+    public ResponseEntity<ApiError> handleUserValidationException(UserValidationException ex, HttpServletRequest request) {
+        return respond(HttpStatus.BAD_REQUEST, ApiError.badRequest(request.getRequestURI(), ex.getFieldErrors()));
+    }
 
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(UserVersionConflictException.class)
+    public ResponseEntity<ApiError> handleUserVersionConflictException(UserVersionConflictException ex, HttpServletRequest request) {
+        return respond(HttpStatus.PRECONDITION_FAILED, ApiError.preconditionFailed(request.getRequestURI(), VERSION_CONFLICT));
     }
 
-    @ExceptionHandler(PhoneAlreadyExistsException.class)
-    public ResponseEntity<Map<String, Object>> handlePhoneAlreadyExistsException(PhoneAlreadyExistsException ex, HttpServletRequest request) {
-        Map<String, Object> response = new HashMap<>();
-        Map<String, String> fieldErrors = new LinkedHashMap<>();
+    @ExceptionHandler(DeltaTokenExpiredException.class)
+    public ResponseEntity<ApiError> handleDeltaTokenExpiredException(DeltaTokenExpiredException ex, HttpServletRequest request) {
+        return respond(HttpStatus.GONE, ApiError.gone(request.getRequestURI(), DELTA_TOKEN_EXPIRED));
+    }
 
-        fieldErrors.put("phone", "Este telefone já está cadastrado no sistema. Por favor, utilize outro telefone.");
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex, HttpServletRequest request) {
+        return respond(HttpStatus.UNPROCESSABLE_ENTITY, ApiError.unprocessableEntity(request.getRequestURI(), IDEMPOTENCY_KEY_REUSED));
+    }
 
-        response.put("fieldErrors", fieldErrors);
-        response.put("timestamp", LocalDateTime.now().toString());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Erro de validação");
-        response.put("path", request.getRequestURI());
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyInProgressException(IdempotencyKeyInProgressException ex, HttpServletRequest request) {
+        return respond(HttpStatus.CONFLICT, ApiError.conflict(request.getRequestURI(), IDEMPOTENCY_KEY_IN_PROGRESS));
+    }
 
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(ChangeFeedFullException.class)
+    public ResponseEntity<ApiError> handleChangeFeedFullException(ChangeFeedFullException ex, HttpServletRequest request) {
+        return respond(HttpStatus.SERVICE_UNAVAILABLE, ApiError.serviceUnavailable(request.getRequestURI(), CHANGE_FEED_FULL));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException ex, HttpServletRequest request) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiError> handleValidationException(MethodArgumentNotValidException ex, HttpServletRequest request) {
         Map<String, String> fieldErrors = new LinkedHashMap<>();
 
         // Ordem específica dos campos
@@ -93,38 +114,43 @@ public class GlobalExceptionHandler {
             }
         }
 
-        response.put("fieldErrors", fieldErrors);
-        response.put("timestamp", LocalDateTime.now().toString());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Erro de validação");
-        response.put("path", request.getRequestURI());
-
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return respond(HttpStatus.BAD_REQUEST, ApiError.badRequest(request.getRequestURI(), fieldErrors));
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<Map<String, Object>> handleInvalidEnumValue(HttpMessageNotReadableException ex, HttpServletRequest request) {
-        Map<String, Object> response = new HashMap<>();
-        Map<String, String> fieldErrors = new LinkedHashMap<>();
+    public ResponseEntity<ApiError> handleInvalidEnumValue(HttpMessageNotReadableException ex, HttpServletRequest request) {
+        Map<String, String> fieldErrors = isInvalidUserType(ex) ? INVALID_USER_TYPE : INVALID_JSON;
 
-        if (ex.getMessage().contains("UserType")) {
-            fieldErrors.put("userType", "Tipo de usuário inválido. Valores aceitos: ADMIN, EDITOR, VIEWER");
-        } else {
-            fieldErrors.put("request", "Formato JSON inválido");
-        }
+        return respond(HttpStatus.BAD_REQUEST, ApiError.badRequest(request.getRequestURI(), fieldErrors));
+    }
 
-        response.put("fieldErrors", fieldErrors);
-        response.put("timestamp", LocalDateTime.now().toString());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Erro de validação");
-        response.put("path", request.getRequestURI());
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiError> handleInvalidRequestParameter(MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+        Map<String, String> fieldErrors = ex.getRequiredType() == UserType.class
+                ? INVALID_USER_TYPE
+                : Map.of(ex.getName(), "Valor inválido: " + ex.getValue());
 
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return respond(HttpStatus.BAD_REQUEST, ApiError.badRequest(request.getRequestURI(), fieldErrors));
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         ErrorResponse error = new ErrorResponse("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, error);
+    }
+
+    // Erros saem sempre em JSON: com Accept de um formato que não sabe escrever o corpo (protobuf só
+    // escreve User), a negociação falharia e o cliente receberia 500 sem corpo no lugar do 4xx
+    private static <T> ResponseEntity<T> respond(HttpStatus status, T body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Usa o tipo alvo informado pelo Jackson; a mensagem só é examinada quando não há causa do Jackson
+    private static boolean isInvalidUserType(HttpMessageNotReadableException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof MismatchedInputException mismatch) {
+            return mismatch.getTargetType() == UserType.class;
+        }
+        return cause == null && ex.getMessage() != null && ex.getMessage().contains("UserType");
     }
-}
\ No newline at end of file
+}
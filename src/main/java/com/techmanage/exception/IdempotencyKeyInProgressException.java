@@ -0,0 +1,12 @@
+package com.techmanage.exception;
+
+// A requisição original com a mesma Idempotency-Key não terminou dentro do tempo de espera
+public class IdempotencyKeyInProgressException extends DomainException {
+
+    public static final String FIELD = "Idempotency-Key";
+    public static final String MESSAGE = "Requisição com a mesma Idempotency-Key ainda em andamento. Tente novamente.";
+
+    public IdempotencyKeyInProgressException() {
+        super(FIELD, MESSAGE);
+    }
+}
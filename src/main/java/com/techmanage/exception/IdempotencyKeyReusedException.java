@@ -0,0 +1,12 @@
+package com.techmanage.exception;
+
+// Idempotency-Key já usada com um corpo diferente: não é um retry da mesma requisição
+public class IdempotencyKeyReusedException extends DomainException {
+
+    public static final String FIELD = "Idempotency-Key";
+    public static final String MESSAGE = "Idempotency-Key já usada com outro corpo de requisição";
+
+    public IdempotencyKeyReusedException() {
+        super(FIELD, MESSAGE);
+    }
+}
@@ -1,7 +1,15 @@
 package com.techmanage.exception;
 
-public class PhoneAlreadyExistsException extends RuntimeException {
+public class PhoneAlreadyExistsException extends DomainException {
+
+    public static final String FIELD = "phone";
+    public static final String MESSAGE = "Telefone já está em uso";
+
+    public PhoneAlreadyExistsException() {
+        this(MESSAGE);
+    }
+
     public PhoneAlreadyExistsException(String message) {
-        super(message);
+        super(FIELD, message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.techmanage.exception;
+
+import java.util.Map;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.WebExceptionHandler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.techmanage.entity.UserType;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Equivalente reativo de GlobalExceptionHandler (perfil reactive): mesmos status e mesmo corpo (ApiError),
+ * com o path da requisição. Roda antes do handler de erros padrão do Boot (ordem -2); exceções que não
+ * são de domínio nem de entrada (rota inexistente, método não suportado) seguem para ele.
+ */
+@Component
+@Profile("reactive")
+@Order(-2)
+public class ReactiveExceptionHandler implements WebExceptionHandler {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        String path = exchange.getRequest().getPath().value();
+        HttpStatus status;
+        Object body;
+        if (ex instanceof UserNotFoundException notFound) {
+            status = HttpStatus.NOT_FOUND;
+            body = ApiError.notFound(path, notFound.getId() == null
+                    ? GlobalExceptionHandler.UNKNOWN_USER
+                    : Map.of(UserNotFoundException.FIELD, UserNotFoundException.MESSAGE_PREFIX + notFound.getId()));
+        } else if (ex instanceof EmailAlreadyExistsException) {
+            status = HttpStatus.BAD_REQUEST;
+            body = ApiError.badRequest(path, GlobalExceptionHandler.EMAIL_IN_USE);
+        } else if (ex instanceof PhoneAlreadyExistsException) {
+            status = HttpStatus.BAD_REQUEST;
+            body = ApiError.badRequest(path, GlobalExceptionHandler.PHONE_IN_USE);
+        } else if (ex instanceof UserValidationException validation) {
+            status = HttpStatus.BAD_REQUEST;
+            body = ApiError.badRequest(path, validation.getFieldErrors());
+        } else if (ex instanceof UserVersionConflictException) {
+            status = HttpStatus.PRECONDITION_FAILED;
+            body = ApiError.preconditionFailed(path, GlobalExceptionHandler.VERSION_CONFLICT);
+        } else if (ex instanceof ServerWebInputException input) {
+            status = HttpStatus.BAD_REQUEST;
+            body = ApiError.badRequest(path, inputErrors(input));
+        } else if (ex instanceof ResponseStatusException) {
+            return Mono.error(ex);
+        } else {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            body = new ErrorResponse("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+        return write(exchange.getResponse(), status, body, ex);
+    }
+
+    // Parâmetro com tipo errado (como MethodArgumentTypeMismatchException) ou corpo ilegível (como HttpMessageNotReadableException)
+    private static Map<String, String> inputErrors(ServerWebInputException ex) {
+        if (ex.getCause() instanceof TypeMismatchException mismatch) {
+            return mismatch.getRequiredType() == UserType.class
+                    ? GlobalExceptionHandler.INVALID_USER_TYPE
+                    : Map.of(mismatch.getPropertyName(), "Valor inválido: " + mismatch.getValue());
+        }
+        if (ex.getCause() instanceof DecodingException decoding
+                && decoding.getCause() instanceof MismatchedInputException mismatch
+                && mismatch.getTargetType() == UserType.class) {
+            return GlobalExceptionHandler.INVALID_USER_TYPE;
+        }
+        return GlobalExceptionHandler.INVALID_JSON;
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, HttpStatus status, Object body, Throwable ex) {
+        if (response.isCommitted()) {
+            return Mono.error(ex);
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(json)));
+    }
+}
@@ -1,7 +1,42 @@
 package com.techmanage.exception;
 
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends DomainException {
+
+    public static final String FIELD = "id";
+    public static final String MESSAGE_PREFIX = "Usuário não encontrado com ID: ";
+
+    private final Long id;
+
+    // Mensagem montada só se alguém a ler (logs); o handler usa o id
+    public UserNotFoundException(long id) {
+        super(FIELD, null);
+        this.id = id;
+    }
+
     public UserNotFoundException(String message) {
-        super(message);
+        super(FIELD, message);
+        this.id = parseId(message);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        String message = super.getMessage();
+        return message == null && id != null ? MESSAGE_PREFIX + id : message;
+    }
+
+    private static Long parseId(String message) {
+        int index = message == null ? -1 : message.indexOf("ID:");
+        if (index < 0) {
+            return null;
+        }
+        try {
+            return Long.valueOf(message.substring(index + 3).trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
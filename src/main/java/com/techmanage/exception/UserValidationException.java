@@ -0,0 +1,20 @@
+package com.techmanage.exception;
+
+import java.util.Map;
+
+// Erros de validação detectados no serviço (p.ex. PATCH parcial), no mesmo formato de fieldErrors do @Valid
+public class UserValidationException extends DomainException {
+
+    public static final String MESSAGE = "Dados inválidos";
+
+    private final Map<String, String> fieldErrors;
+
+    public UserValidationException(Map<String, String> fieldErrors) {
+        super(fieldErrors.keySet().iterator().next(), MESSAGE);
+        this.fieldErrors = fieldErrors;
+    }
+
+    public Map<String, String> getFieldErrors() {
+        return fieldErrors;
+    }
+}
@@ -0,0 +1,18 @@
+package com.techmanage.exception;
+
+public class UserVersionConflictException extends DomainException {
+
+    public static final String FIELD = "version";
+    public static final String MESSAGE = "Usuário foi alterado por outra requisição. Busque a versão atual e tente novamente.";
+
+    private final Long id;
+
+    public UserVersionConflictException(long id) {
+        super(FIELD, MESSAGE);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
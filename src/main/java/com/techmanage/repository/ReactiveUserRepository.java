@@ -0,0 +1,163 @@
+package com.techmanage.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserTableVersion;
+import com.techmanage.entity.UserType;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Acesso R2DBC à tabela users para a pilha reativa (perfil reactive), com SQL explícito sobre o mesmo
+ * schema do JPA. Ids vêm da users_seq como no data.sql: cada valor da sequence é exclusivo, então não
+ * colide com os blocos alocados pelo Hibernate. created_at/updated_at são gerados aqui como em
+ * User.onCreate/onUpdate e gravados na convenção do Hibernate (TIMESTAMP sem fuso, no fuso da JVM).
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveUserRepository {
+
+    private static final String COLUMNS = "id, full_name, email, phone, birth_date, user_type, address, version, created_at, updated_at";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    // Linhas emitidas conforme a demanda do assinante (cursor do driver), sem carregar a tabela em memória
+    public Flux<User> findAllByOrderByIdAsc() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users ORDER BY id")
+                .map((row, metadata) -> toUser(row))
+                .all();
+    }
+
+    public Mono<User> findById(long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toUser(row))
+                .one();
+    }
+
+    // Keyset: ids depois (ou antes, em ordem decrescente) do cursor; userType opcional
+    public Flux<User> findPage(long seek, boolean ascending, UserType userType, int limit) {
+        String sql = "SELECT " + COLUMNS + " FROM users WHERE id " + (ascending ? ">" : "<") + " :seek"
+                + (userType != null ? " AND user_type = :userType" : "")
+                + " ORDER BY id " + (ascending ? "ASC" : "DESC") + " LIMIT :limit";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("seek", seek)
+                .bind("limit", limit);
+        if (userType != null) {
+            spec = spec.bind("userType", userType.name());
+        }
+        return spec.map((row, metadata) -> toUser(row)).all();
+    }
+
+    // Mesma linha de UserRepository.findTableVersion (users_version)
+    public Mono<String> findTableVersion() {
+        return databaseClient.sql("SELECT version FROM users_version WHERE id = " + UserTableVersion.ID)
+                .map((row, metadata) -> String.valueOf(row.get(0, Long.class)))
+                .one();
+    }
+
+    // Sem transação reativa, em um statement depois da escrita: incrementar antes permitiria servir a lista
+    // antiga com a versão nova; se a conexão cair entre os dois, o ETag só muda na próxima escrita
+    private Mono<Integer> incrementTableVersion() {
+        return databaseClient.sql("UPDATE users_version SET version = version + 1 WHERE id = " + UserTableVersion.ID)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<User> insert(User user) {
+        Instant now = now();
+        return databaseClient.sql("SELECT NEXT VALUE FOR users_seq")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> bindColumns(databaseClient.sql("INSERT INTO users (" + COLUMNS + ") "
+                                + "VALUES (:id, :fullName, :email, :phone, :birthDate, :userType, :address, 0, :now, :now)"), user)
+                        .bind("id", id)
+                        .bind("now", toColumn(now))
+                        .fetch()
+                        .rowsUpdated()
+                        .then(incrementTableVersion())
+                        .then(Mono.fromSupplier(() -> {
+                            user.setId(id);
+                            user.setVersion(0L);
+                            user.setCreatedAt(now);
+                            user.setUpdatedAt(now);
+                            return user;
+                        })));
+    }
+
+    // Incrementa a versão; com expectedVersion, só atualiza se ainda for a mesma (0 linhas = conflito)
+    public Mono<Integer> update(long id, User user, Long expectedVersion) {
+        String sql = "UPDATE users SET full_name = :fullName, email = :email, phone = :phone, birth_date = :birthDate, "
+                + "user_type = :userType, address = :address, version = version + 1, updated_at = :now WHERE id = :id"
+                + (expectedVersion != null ? " AND version = :version" : "");
+        DatabaseClient.GenericExecuteSpec spec = bindColumns(databaseClient.sql(sql), user)
+                .bind("id", id)
+                .bind("now", toColumn(now()));
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.fetch().rowsUpdated()
+                .flatMap(updated -> updated == 0 ? Mono.just(updated) : incrementTableVersion().thenReturn(updated));
+    }
+
+    // Marca de exclusão para a sincronização incremental, em um segundo statement (sem transação reativa):
+    // só é gravada se a linha foi removida, e se perde caso a conexão caia entre os dois
+    public Mono<Integer> deleteById(long id) {
+        return databaseClient.sql("DELETE FROM users WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.just(deleted)
+                        : databaseClient.sql("MERGE INTO user_tombstones (user_id, deleted_at) KEY (user_id) VALUES (:id, :now)")
+                                .bind("id", id)
+                                .bind("now", toColumn(now()))
+                                .fetch()
+                                .rowsUpdated()
+                                .then(incrementTableVersion())
+                                .thenReturn(deleted));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec, User user) {
+        spec = spec.bind("fullName", user.getFullName())
+                .bind("email", user.getEmail())
+                .bind("phone", user.getPhone())
+                .bind("birthDate", user.getBirthDate())
+                .bind("userType", user.getUserType().name());
+        return user.getAddress() != null
+                ? spec.bind("address", user.getAddress())
+                : spec.bindNull("address", String.class);
+    }
+
+    private static User toUser(Row row) {
+        User user = new User(row.get("full_name", String.class), row.get("email", String.class),
+                row.get("phone", String.class), row.get("birth_date", LocalDate.class),
+                UserType.valueOf(row.get("user_type", String.class)), row.get("address", String.class));
+        user.setId(row.get("id", Long.class));
+        user.setVersion(row.get("version", Long.class));
+        user.setCreatedAt(row.get("created_at", LocalDateTime.class).atZone(ZoneId.systemDefault()).toInstant());
+        user.setUpdatedAt(row.get("updated_at", LocalDateTime.class).atZone(ZoneId.systemDefault()).toInstant());
+        return user;
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static LocalDateTime toColumn(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,30 @@
+package com.techmanage.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.techmanage.entity.UserChange;
+
+@Repository
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+
+    // Reenvio do feed a partir do Last-Event-ID, em blocos pela chave primária
+    List<UserChange> findByIdGreaterThanOrderByIdAsc(Long lastEventId, Pageable pageable);
+
+    Optional<UserChange> findTopByOrderByIdDesc();
+
+    // Retenção do outbox (UserChangeFeed.purgeExpired)
+    @Transactional
+    @Modifying
+    @Query("delete from UserChange c where c.occurredAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
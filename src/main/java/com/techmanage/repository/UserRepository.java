@@ -1,9 +1,69 @@
 package com.techmanage.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 import com.techmanage.entity.User;
+import com.techmanage.entity.UserTableVersion;
+import com.techmanage.entity.UserType;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    // Versão da tabela para o ETag da coleção: leitura da linha única de users_version, sem varrer users
+    @Query("select v.version from UserTableVersion v where v.id = " + UserTableVersion.ID)
+    long findTableVersion();
+
+    // Chamado no fim da transação de escrita: a linha fica bloqueada até o commit e serializa as escritas
+    @Modifying
+    @Query("update UserTableVersion v set v.version = v.version + 1 where v.id = " + UserTableVersion.ID)
+    void incrementTableVersion();
+
+    // Checagem de disponibilidade (só para positivos do filtro de Bloom); usa os índices das constraints únicas
+    boolean existsByEmail(String email);
+
+    boolean existsByPhone(String phone);
+
+    // Relatório por linha da importação em lote; a unicidade em si é garantida pelas constraints do banco
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.phone from User u where u.phone in :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+    // Paginação keyset (seek) por id: o cursor é o último id da página anterior
+    Slice<User> findByIdGreaterThan(Long cursor, Pageable pageable);
+
+    Slice<User> findByIdLessThan(Long cursor, Pageable pageable);
+
+    Slice<User> findByUserTypeAndIdGreaterThan(UserType userType, Long cursor, Pageable pageable);
+
+    Slice<User> findByUserTypeAndIdLessThan(UserType userType, Long cursor, Pageable pageable);
+
+    // Sincronização incremental: keyset em (updated_at, id) depois da posição do token e até o horizonte.
+    // O intervalo em updated_at fica fora do OR para o banco percorrer só a faixa do índice idx_users_updated_at
+    @Query("select u from User u where u.updatedAt >= :updatedAt and u.updatedAt <= :horizon "
+            + "and (u.updatedAt > :updatedAt or u.id > :id) order by u.updatedAt, u.id")
+    List<User> findUpdatedAfter(@Param("updatedAt") Instant updatedAt, @Param("id") long id,
+                                @Param("horizon") Instant horizon, Pageable pageable);
+
+    // Cursor rolável para a exportação completa; deve ser consumido dentro de uma transação e fechado
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    Stream<User> streamAllByOrderByIdAsc();
+}
@@ -0,0 +1,11 @@
+package com.techmanage.repository;
+
+import java.util.List;
+import java.util.Map;
+
+// Consultas que o Spring Data não deriva: projeção com colunas escolhidas em tempo de execução
+public interface UserRepositoryCustom {
+
+    // Uma linha por usuário (ordem por id) com apenas as propriedades pedidas; sem entidades gerenciadas
+    List<Map<String, Object>> findAllProjected(List<String> properties);
+}
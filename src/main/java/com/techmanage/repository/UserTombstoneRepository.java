@@ -0,0 +1,31 @@
+package com.techmanage.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.techmanage.entity.UserTombstone;
+
+@Repository
+public interface UserTombstoneRepository extends JpaRepository<UserTombstone, Long> {
+
+    // Keyset em (deleted_at, user_id) depois da posição do token, até o horizonte; mesmo formato de
+    // UserRepository.findUpdatedAfter, com o intervalo em deleted_at para usar o índice
+    @Query("select t from UserTombstone t where t.deletedAt >= :deletedAt and t.deletedAt <= :horizon "
+            + "and (t.deletedAt > :deletedAt or t.userId > :userId) order by t.deletedAt, t.userId")
+    List<UserTombstone> findDeletedAfter(@Param("deletedAt") Instant deletedAt, @Param("userId") long userId,
+                                         @Param("horizon") Instant horizon, Pageable pageable);
+
+    // Retenção das marcas de exclusão (UserDeltaSync.purgeExpired)
+    @Transactional
+    @Modifying
+    @Query("delete from UserTombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,109 @@
+package com.techmanage.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.techmanage.dto.UserPage;
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.exception.UserNotFoundException;
+import com.techmanage.exception.UserValidationException;
+import com.techmanage.exception.UserVersionConflictException;
+import com.techmanage.repository.ReactiveUserRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Regras de UserServiceImpl para a pilha reativa (perfil reactive): mesmas validações, erros de domínio
+ * e semântica de versão, sem bloquear a thread do event loop. Cada escrita é um único statement, então
+ * não há transação reativa: a constraint única e o "WHERE version = ?" garantem a consistência.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveUserService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // Mesma ordem dos fieldErrors da pilha MVC (GlobalExceptionHandler)
+    private static final List<String> VALIDATED_FIELDS = List.of("fullName", "email", "phone", "birthDate", "userType");
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private Validator validator;
+
+    public Mono<User> createUser(User user) {
+        return Mono.defer(() -> {
+            validate(user);
+            return userRepository.insert(user);
+        }).onErrorMap(DataIntegrityViolationException.class, UserServiceImpl::translateUniqueViolation);
+    }
+
+    // Emitidos sob demanda: a velocidade de escrita da resposta controla a leitura do banco
+    public Flux<User> getAllUsers() {
+        return userRepository.findAllByOrderByIdAsc();
+    }
+
+    public Mono<String> getUsersVersion() {
+        return userRepository.findTableVersion();
+    }
+
+    // Uma linha a mais indica se há próxima página, como o Slice da pilha MVC
+    public Mono<UserPage> getUsersPage(Long cursor, int limit, Sort.Direction direction, UserType userType) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        boolean ascending = direction.isAscending();
+        long seek = cursor != null ? cursor : (ascending ? 0L : Long.MAX_VALUE);
+
+        return userRepository.findPage(seek, ascending, userType, pageSize + 1)
+                .collectList()
+                .map(users -> {
+                    if (users.size() <= pageSize) {
+                        return new UserPage(users, null);
+                    }
+                    List<User> content = users.subList(0, pageSize);
+                    return new UserPage(content, content.get(pageSize - 1).getId());
+                });
+    }
+
+    public Mono<User> getUserById(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(id)));
+    }
+
+    // Nenhuma linha atualizada: o usuário não existe (404) ou a versão mudou desde o If-Match (412)
+    public Mono<User> updateUser(Long id, User user, Long expectedVersion) {
+        return Mono.defer(() -> {
+            validate(user);
+            return userRepository.update(id, user, expectedVersion);
+        }).onErrorMap(DataIntegrityViolationException.class, UserServiceImpl::translateUniqueViolation)
+                .flatMap(updated -> updated > 0
+                        ? getUserById(id)
+                        : getUserById(id).then(Mono.error(() -> new UserVersionConflictException(id))));
+    }
+
+    public Mono<Void> deleteUser(Long id) {
+        return userRepository.deleteById(id)
+                .flatMap(deleted -> deleted > 0 ? Mono.empty() : Mono.error(new UserNotFoundException(id)));
+    }
+
+    private void validate(User user) {
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (String field : VALIDATED_FIELDS) {
+            validator.validateProperty(user, field)
+                    .forEach(violation -> fieldErrors.put(field, violation.getMessage()));
+        }
+        if (!fieldErrors.isEmpty()) {
+            throw new UserValidationException(fieldErrors);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.techmanage.service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.techmanage.entity.User;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Filtro de Bloom com os emails e telefones cadastrados, para a checagem de disponibilidade.
+ *
+ * "Não contém" é definitivo e dispensa o banco; "talvez contenha" precisa da consulta pelo índice único.
+ * O filtro não remove elementos: email/telefone de usuários excluídos ou alterados continuam marcados
+ * até a próxima reconstrução (na subida) e custam apenas uma consulta a mais.
+ */
+@Component
+public class UserAvailabilityFilter implements MeterBinder {
+
+    public enum Field {
+        EMAIL,
+        PHONE
+    }
+
+    public enum Outcome {
+        // Negativo do filtro: disponível sem ir ao banco
+        FILTER_NEGATIVE,
+        // Positivo confirmado pelo banco
+        TAKEN,
+        // Positivo do filtro que o banco desmentiu
+        FALSE_POSITIVE
+    }
+
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final LongAdder[][] outcomes = new LongAdder[Field.values().length][Outcome.values().length];
+
+    private volatile Bits bits;
+    private volatile Bits rebuilding;
+
+    public UserAvailabilityFilter(@Value("${techmanage.availability.expected-users:1000000}") long expectedUsers,
+                                  @Value("${techmanage.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bits = new Bits(expectedUsers, falsePositiveRate);
+        for (LongAdder[] byField : outcomes) {
+            for (int i = 0; i < byField.length; i++) {
+                byField[i] = new LongAdder();
+            }
+        }
+    }
+
+    public void put(User user) {
+        bits.put(user);
+        Bits next = rebuilding;
+        if (next != null) {
+            next.put(user);
+        }
+    }
+
+    public boolean mightContainEmail(String email) {
+        return email != null && bits.mightContain(Field.EMAIL, email);
+    }
+
+    public boolean mightContainPhone(String phone) {
+        return phone != null && bits.mightContain(Field.PHONE, User.normalizePhone(phone));
+    }
+
+    public void record(Field field, Outcome outcome) {
+        outcomes[field.ordinal()][outcome.ordinal()].increment();
+    }
+
+    // Novo filtro dimensionado para a tabela atual (com folga para crescer); escritas concorrentes vão para os dois
+    public Rebuild rebuild(long userCount) {
+        Bits next = new Bits(Math.max(expectedUsers, userCount * 2), falsePositiveRate);
+        rebuilding = next;
+        return new Rebuild(next);
+    }
+
+    public long getMemoryBytes() {
+        return bits.words.length() * (long) Long.BYTES;
+    }
+
+    // Probabilidade teórica de falso positivo com a ocupação atual: (1 - e^(-k*n/m))^k
+    public double getEstimatedFalsePositiveRate() {
+        Bits current = bits;
+        double exponent = -(double) current.hashes * current.insertions.get() / current.size;
+        return Math.pow(1 - Math.exp(exponent), current.hashes);
+    }
+
+    // Taxa observada: falsos positivos entre as consultas de valores que não estavam cadastrados
+    public double getObservedFalsePositiveRate() {
+        double falsePositives = 0;
+        double negatives = 0;
+        for (Field field : Field.values()) {
+            falsePositives += outcomes[field.ordinal()][Outcome.FALSE_POSITIVE.ordinal()].sum();
+            negatives += outcomes[field.ordinal()][Outcome.FILTER_NEGATIVE.ordinal()].sum();
+        }
+        double absent = falsePositives + negatives;
+        return absent == 0 ? 0 : falsePositives / absent;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Field field : Field.values()) {
+            for (Outcome outcome : Outcome.values()) {
+                LongAdder adder = outcomes[field.ordinal()][outcome.ordinal()];
+                FunctionCounter.builder("techmanage.availability.lookups", adder, LongAdder::sum)
+                        .description("Checagens de disponibilidade por campo e desfecho")
+                        .tag("field", field.name().toLowerCase(Locale.ROOT))
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+        }
+        Gauge.builder("techmanage.availability.filter.memory", this, UserAvailabilityFilter::getMemoryBytes)
+                .description("Memória ocupada pelos bits do filtro de Bloom")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("techmanage.availability.filter.false.positive.rate.estimated", this,
+                        UserAvailabilityFilter::getEstimatedFalsePositiveRate)
+                .description("Taxa de falso positivo teórica para a ocupação atual do filtro")
+                .register(registry);
+        Gauge.builder("techmanage.availability.filter.false.positive.rate.observed", this,
+                        UserAvailabilityFilter::getObservedFalsePositiveRate)
+                .description("Falsos positivos / consultas de valores não cadastrados")
+                .register(registry);
+    }
+
+    public final class Rebuild {
+        private final Bits next;
+
+        private Rebuild(Bits next) {
+            this.next = next;
+        }
+
+        public void add(User user) {
+            next.put(user);
+        }
+
+        public void publish() {
+            bits = next;
+            rebuilding = null;
+        }
+    }
+
+    // Bits com k funções de hash derivadas de um hash de 64 bits (double hashing de Kirsch-Mitzenmacher)
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+        private final AtomicLong insertions = new AtomicLong();
+
+        private Bits(long expectedUsers, double falsePositiveRate) {
+            // Dois elementos por usuário (email e telefone): m = -n ln p / (ln 2)^2, k = m/n ln 2
+            long elements = Math.max(1, expectedUsers * 2);
+            long bitCount = (long) Math.ceil(-elements * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (bitCount + 63) / 64));
+            this.size = words.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) size / elements * Math.log(2)));
+        }
+
+        private void put(User user) {
+            if (user.getEmail() != null) {
+                set(Field.EMAIL, user.getEmail());
+            }
+            if (user.getPhone() != null) {
+                set(Field.PHONE, user.getPhone());
+            }
+        }
+
+        private void set(Field field, String value) {
+            long hash = hash(field, value);
+            long h1 = hash;
+            long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = words.get(word);
+                while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    current = words.get(word);
+                }
+            }
+            insertions.incrementAndGet();
+        }
+
+        private boolean mightContain(Field field, String value) {
+            long hash = hash(field, value);
+            long h1 = hash;
+            long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a de 64 bits sobre os chars, com o campo como semente, e finalização do MurmurHash3
+        private static long hash(Field field, String value) {
+            long hash = 0xCBF29CE484222325L ^ field.ordinal();
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001B3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xFF51AFD7ED558CCDL;
+            value ^= value >>> 33;
+            value *= 0xC4CEB9FE1A85EC53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
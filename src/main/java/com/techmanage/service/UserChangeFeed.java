@@ -0,0 +1,342 @@
+package com.techmanage.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.techmanage.config.VirtualThreadConfig;
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserChange;
+import com.techmanage.exception.ChangeFeedFullException;
+import com.techmanage.repository.UserChangeRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Feed de alterações de usuários (GET /api/users/changes).
+ *
+ * Cada escrita grava uma linha no outbox (user_changes) na própria transação; depois do commit o evento
+ * entra em um ring buffer em memória. Publicar é só uma escrita no array: cada assinante tem o próprio
+ * cursor e a própria thread, copia os eventos do ring e escreve na rede fora do lock, então um cliente
+ * lento nunca segura quem escreve. Quem fica mais de buffer-size eventos para trás (ou retoma com
+ * Last-Event-ID) é atendido pelo outbox, em ordem de id, e depois volta para o ring.
+ *
+ * As threads dos assinantes são do próprio feed (virtual threads no modo virtual), não do executor
+ * assíncrono do MVC: streams abertos por horas não ocupam o pool do export, e nenhum EntityManager fica
+ * preso a elas. Cada leitura do outbox é uma transação curta do repositório, que devolve a conexão ao
+ * HikariCP na hora. O número de assinantes é limitado por max-subscribers; acima disso, 503.
+ *
+ * Ids vêm de uma sequence na inserção e o ring segue a ordem de commit: com escritas concorrentes um
+ * id menor pode chegar depois de um maior. A retomada pelo outbox usa "id > Last-Event-ID", então um
+ * evento cujo commit atrasou exatamente na janela da desconexão pode não ser reenviado.
+ */
+@Component
+public class UserChangeFeed implements MeterBinder, DisposableBean {
+
+    // Recebe os eventos na thread da conexão; IOException (cliente desconectado) encerra o stream
+    public interface Subscriber {
+        void onChanges(List<UserChange> changes) throws IOException;
+
+        // Nenhum evento por um intervalo de heartbeat: mantém a conexão viva e detecta clientes que saíram
+        void onIdle() throws IOException;
+    }
+
+    private static final int REPLAY_CHUNK_SIZE = 500;
+    private static final int MAX_DELIVERY_BATCH = 256;
+
+    private final UserChange[] ring;
+    private final long heartbeatNanos;
+    private final Duration retention;
+    private final int maxSubscribers;
+    private final ExecutorService subscriberThreads;
+    // ReentrantLock em vez de synchronized: a espera por eventos não prende a carrier thread de uma virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // Sequência do próximo evento do ring (protegida por lock)
+    private long head;
+    private boolean closed;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    @Autowired
+    private UserChangeRepository changeRepository;
+
+    public UserChangeFeed(@Value("${techmanage.changes.buffer-size:4096}") int bufferSize,
+                          @Value("${techmanage.changes.heartbeat:15s}") Duration heartbeat,
+                          @Value("${techmanage.changes.retention:7d}") Duration retention,
+                          @Value("${techmanage.changes.max-subscribers:100}") int maxSubscribers,
+                          @Value("${techmanage.server.execution-mode:platform}") String executionMode) {
+        this.ring = new UserChange[bufferSize];
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.retention = retention;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberThreads = "virtual".equals(executionMode)
+                ? VirtualThreadConfig.newVirtualThreadPerTaskExecutor().orElseGet(UserChangeFeed::platformThreads)
+                : platformThreads();
+    }
+
+    // Sem fila: o limite de assinantes já limita o número de threads
+    private static ExecutorService platformThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "user-changes-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Grava no outbox; dentro de uma transação, a linha só existe se a escrita do usuário for confirmada
+    public UserChange record(User user, UserChange.Operation operation, Collection<String> changedFields) {
+        return changeRepository.save(new UserChange(user, operation, changedFields));
+    }
+
+    public List<UserChange> recordCreated(Collection<User> users, Collection<String> fields) {
+        List<UserChange> changes = new ArrayList<>(users.size());
+        users.forEach(user -> changes.add(new UserChange(user, UserChange.Operation.CREATED, fields)));
+        return changeRepository.saveAll(changes);
+    }
+
+    // Chamados depois do commit
+    public void publish(UserChange change) {
+        publish(List.of(change));
+    }
+
+    public void publish(Collection<UserChange> changes) {
+        lock.lock();
+        try {
+            for (UserChange change : changes) {
+                ring[(int) (head++ % ring.length)] = change;
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        published.add(changes.size());
+    }
+
+    /**
+     * Entrega os eventos ao assinante, numa thread do feed, até ele falhar (cliente desconectado) ou a
+     * aplicação parar; o future completa nesse momento. Com lastEventId, começa pelo outbox com os eventos
+     * posteriores a esse id; sem ele, só o que for publicado daqui em diante.
+     *
+     * @throws ChangeFeedFullException com max-subscribers assinantes já conectados
+     */
+    public CompletableFuture<Void> subscribe(Long lastEventId, Subscriber subscriber) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            rejected.increment();
+            throw new ChangeFeedFullException();
+        }
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    stream(lastEventId, subscriber);
+                } catch (IOException ex) {
+                    // Cliente desconectado: fim normal do stream
+                } finally {
+                    subscribers.decrementAndGet();
+                }
+            }, subscriberThreads);
+        } catch (RejectedExecutionException ex) {
+            subscribers.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    private void stream(Long lastEventId, Subscriber subscriber) throws IOException {
+        long lastSent = lastEventId != null ? lastEventId : newestId();
+        long seq = currentHead();
+        // Eventos do ring anteriores a overlapEnd podem já ter saído pelo outbox
+        long overlapEnd = seq;
+        long replayedUpTo = lastSent;
+        if (lastEventId != null) {
+            lastSent = replay(lastEventId, subscriber);
+            overlapEnd = currentHead();
+            replayedUpTo = lastSent;
+        }
+
+        while (true) {
+            Poll poll = poll(seq);
+            if (poll == null) {
+                return;
+            }
+            if (poll.overflow) {
+                overflows.increment();
+                seq = currentHead();
+                lastSent = replay(lastSent, subscriber);
+                overlapEnd = currentHead();
+                replayedUpTo = lastSent;
+                continue;
+            }
+            if (poll.changes.isEmpty()) {
+                subscriber.onIdle();
+                continue;
+            }
+            List<UserChange> changes = new ArrayList<>(poll.changes.size());
+            for (int i = 0; i < poll.changes.size(); i++) {
+                UserChange change = poll.changes.get(i);
+                if (seq + i < overlapEnd && change.getId() <= replayedUpTo) {
+                    continue;
+                }
+                changes.add(change);
+                lastSent = Math.max(lastSent, change.getId());
+            }
+            seq = poll.next;
+            if (!changes.isEmpty()) {
+                subscriber.onChanges(changes);
+            }
+        }
+    }
+
+    // Outbox em blocos pela chave primária; devolve o último id enviado
+    private long replay(long afterId, Subscriber subscriber) throws IOException {
+        long lastId = afterId;
+        List<UserChange> chunk;
+        do {
+            chunk = changeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REPLAY_CHUNK_SIZE));
+            if (!chunk.isEmpty()) {
+                subscriber.onChanges(chunk);
+                replayed.add(chunk.size());
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == REPLAY_CHUNK_SIZE);
+        return lastId;
+    }
+
+    // Ponto de partida de quem assina sem Last-Event-ID, usado se ele precisar recorrer ao outbox
+    private long newestId() {
+        lock.lock();
+        try {
+            if (head > 0) {
+                return ring[(int) ((head - 1) % ring.length)].getId();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return changeRepository.findTopByOrderByIdDesc().map(UserChange::getId).orElse(0L);
+    }
+
+    private long currentHead() {
+        lock.lock();
+        try {
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Copia do ring sob o lock (no máximo MAX_DELIVERY_BATCH eventos); null quando a aplicação está parando
+    private Poll poll(long seq) throws InterruptedIOException {
+        lock.lock();
+        try {
+            long remaining = heartbeatNanos;
+            while (seq == head && !closed) {
+                if (remaining <= 0) {
+                    return new Poll(List.of(), seq, false);
+                }
+                try {
+                    remaining = changed.awaitNanos(remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Feed de alterações interrompido");
+                }
+            }
+            if (closed) {
+                return null;
+            }
+            if (head - seq > ring.length) {
+                return new Poll(List.of(), seq, true);
+            }
+            int count = (int) Math.min(head - seq, MAX_DELIVERY_BATCH);
+            List<UserChange> changes = new ArrayList<>(count);
+            for (long s = seq; s < seq + count; s++) {
+                changes.add(ring[(int) (s % ring.length)]);
+            }
+            return new Poll(changes, seq + count, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // O outbox só precisa cobrir o tempo máximo de desconexão dos consumidores
+    @Scheduled(fixedDelayString = "${techmanage.changes.purge-interval:PT1H}")
+    public void purgeExpired() {
+        changeRepository.deleteOlderThan(Instant.now().minus(retention));
+    }
+
+    // Assinantes saem do poll e encerram; as threads do feed não seguram o fim da aplicação
+    @Override
+    public void destroy() {
+        lock.lock();
+        try {
+            closed = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        subscriberThreads.shutdown();
+    }
+
+    public int getSubscribers() {
+        return subscribers.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("techmanage.user.changes.events", published, LongAdder::sum)
+                .description("Eventos de alteração publicados no feed")
+                .tag("source", "published")
+                .register(registry);
+        FunctionCounter.builder("techmanage.user.changes.events", replayed, LongAdder::sum)
+                .description("Eventos de alteração reenviados a partir do outbox")
+                .tag("source", "replayed")
+                .register(registry);
+        FunctionCounter.builder("techmanage.user.changes.overflows", overflows, LongAdder::sum)
+                .description("Assinantes que ficaram para trás do ring buffer e recorreram ao outbox")
+                .register(registry);
+        FunctionCounter.builder("techmanage.user.changes.rejected", rejected, LongAdder::sum)
+                .description("Conexões recusadas com 503 por atingir o limite de assinantes")
+                .register(registry);
+        Gauge.builder("techmanage.user.changes.subscribers", subscribers, AtomicInteger::get)
+                .description("Conexões abertas no feed de alterações")
+                .register(registry);
+    }
+
+    private static final class Poll {
+        private final List<UserChange> changes;
+        private final long next;
+        private final boolean overflow;
+
+        private Poll(List<UserChange> changes, long next, boolean overflow) {
+            this.changes = changes;
+            this.next = next;
+            this.overflow = overflow;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.techmanage.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.techmanage.dto.UserDelta;
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserTombstone;
+import com.techmanage.exception.DeltaTokenExpiredException;
+import com.techmanage.exception.UserValidationException;
+import com.techmanage.repository.UserRepository;
+import com.techmanage.repository.UserTombstoneRepository;
+
+/**
+ * Sincronização incremental (GET /api/users/delta).
+ *
+ * O token é a posição (updated_at, id) da última linha entregue, opaca para o cliente. Usuários
+ * alterados e marcas de exclusão formam uma única sequência nessa ordem (ids nunca se repetem), lida
+ * por keyset nos índices de updated_at e deleted_at: o custo de uma sincronização acompanha o número
+ * de alterações desde o token, não o tamanho da tabela.
+ *
+ * Os timestamps são gerados antes do commit, então uma transação lenta pode gravar um updated_at menor
+ * que o de outra já visível. Só entra no delta o que é mais antigo que o horizonte (agora menos
+ * commit-window): uma escrita que leve mais que isso para commitar pode não ser entregue.
+ */
+@Component
+public class UserDeltaSync {
+
+    private static final String TOKEN_VERSION = "1";
+    private static final Map<String, String> INVALID_TOKEN = Map.of("since", "Token de sincronização inválido");
+
+    private final Duration commitWindow;
+    private final Duration tombstoneRetention;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTombstoneRepository tombstoneRepository;
+
+    public UserDeltaSync(@Value("${techmanage.delta.commit-window:2s}") Duration commitWindow,
+                         @Value("${techmanage.delta.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.commitWindow = commitWindow;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    // Na transação do DELETE; chamado de UserServiceImpl.deleteUser
+    public void recordDeletion(User user) {
+        tombstoneRepository.save(new UserTombstone(user.getId()));
+    }
+
+    // Sem token: sincronização completa, paginada pelo mesmo keyset (sem exclusões, o cliente não tem nada)
+    public UserDelta delta(String since, int limit) {
+        Instant now = Instant.now();
+        Position from = since == null ? Position.START : Position.decode(since);
+        if (since != null && from.timestamp.isBefore(now.minus(tombstoneRetention))) {
+            throw new DeltaTokenExpiredException();
+        }
+        Instant horizon = now.minus(commitWindow).truncatedTo(ChronoUnit.MICROS);
+
+        // limit + 1 de cada lado: sobra em qualquer um dos dois indica mais páginas
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<User> updated = userRepository.findUpdatedAfter(from.timestamp, from.id, horizon, pageable);
+        List<UserTombstone> deleted = since == null
+                ? List.of()
+                : tombstoneRepository.findDeletedAfter(from.timestamp, from.id, horizon, pageable);
+
+        List<User> users = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        Position last = from;
+        int u = 0;
+        int d = 0;
+        while (users.size() + deletedIds.size() < limit && (u < updated.size() || d < deleted.size())) {
+            Position nextUpdate = u < updated.size() ? new Position(updated.get(u).getUpdatedAt(), updated.get(u).getId()) : null;
+            Position nextDeletion = d < deleted.size() ? new Position(deleted.get(d).getDeletedAt(), deleted.get(d).getUserId()) : null;
+            if (nextDeletion == null || (nextUpdate != null && nextUpdate.compareTo(nextDeletion) < 0)) {
+                users.add(updated.get(u++));
+                last = nextUpdate;
+            } else {
+                deletedIds.add(deleted.get(d++).getUserId());
+                last = nextDeletion;
+            }
+        }
+
+        boolean hasMore = u < updated.size() || d < deleted.size();
+        Position caughtUp = new Position(horizon, Long.MAX_VALUE);
+        if (!hasMore && last.compareTo(caughtUp) < 0) {
+            // Tudo até o horizonte foi entregue: o token avança mesmo sem alterações e não expira por inatividade
+            last = caughtUp;
+        }
+        return new UserDelta(users, deletedIds, last.encode(), hasMore);
+    }
+
+    // Marcas mais antigas que a retenção não são mais necessárias: tokens desse período recebem 410
+    @Scheduled(fixedDelayString = "${techmanage.delta.purge-interval:PT1H}")
+    public void purgeExpired() {
+        tombstoneRepository.deleteOlderThan(Instant.now().minus(tombstoneRetention));
+    }
+
+    // Posição no keyset; codificada em base64url ("1:<epoch em µs>:<id>")
+    private static final class Position implements Comparable<Position> {
+        static final Position START = new Position(Instant.EPOCH, 0L);
+
+        final Instant timestamp;
+        final long id;
+
+        Position(Instant timestamp, long id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        String encode() {
+            long micros = ChronoUnit.MICROS.between(Instant.EPOCH, timestamp);
+            String text = TOKEN_VERSION + ":" + micros + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static Position decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII).split(":");
+                if (parts.length != 3 || !TOKEN_VERSION.equals(parts[0])) {
+                    throw new UserValidationException(INVALID_TOKEN);
+                }
+                return new Position(Instant.EPOCH.plus(Long.parseLong(parts[1]), ChronoUnit.MICROS), Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException | ArithmeticException | DateTimeException ex) {
+                throw new UserValidationException(INVALID_TOKEN);
+            }
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            int byTimestamp = timestamp.compareTo(other.timestamp);
+            return byTimestamp != 0 ? byTimestamp : Long.compare(id, other.id);
+        }
+    }
+}
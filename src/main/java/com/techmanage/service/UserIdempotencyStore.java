@@ -0,0 +1,301 @@
+package com.techmanage.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.techmanage.entity.IdempotencyRecord;
+import com.techmanage.entity.User;
+import com.techmanage.exception.IdempotencyKeyInProgressException;
+import com.techmanage.exception.IdempotencyKeyReusedException;
+import com.techmanage.exception.UserValidationException;
+import com.techmanage.repository.IdempotencyRecordRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Idempotency-Key do POST /api/users: a primeira resposta de sucesso fica guardada e os retries com a
+ * mesma chave recebem essa resposta sem passar pelo UserServiceImpl.
+ *
+ * As respostas ficam em um cache Caffeine com limite de tamanho e expiração (maximum-size, ttl); com
+ * persistent=true também na tabela idempotency_keys, consultada quando a chave não está em memória.
+ * Requisições simultâneas com a mesma chave seguem o single-flight de UserLoadCoalescer: a primeira
+ * registra um future e executa, as demais esperam por ele (até wait-timeout) e recebem o mesmo usuário
+ * ou a mesma exceção. Erros não são guardados: um retry depois de uma falha executa de novo. A espera
+ * vale dentro da instância; entre instâncias só a tabela evita a repetição, e apenas depois do commit.
+ */
+@Component
+public class UserIdempotencyStore implements MeterBinder {
+
+    public static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_STORED_BODY_LENGTH = 4000;
+    private static final Map<String, String> INVALID_KEY =
+            Map.of("Idempotency-Key", "Deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+    private static final Logger log = LoggerFactory.getLogger(UserIdempotencyStore.class);
+
+    // Resposta do POST; replayed = veio do store, não de uma execução desta requisição
+    public record Response(User user, boolean replayed) {
+    }
+
+    // storedAt: quando a resposta foi gravada pela primeira vez (em memória ou em idempotency_keys)
+    private record StoredResponse(String requestHash, User user, Instant storedAt) {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<StoredResponse> future) {
+    }
+
+    private final Cache<String, StoredResponse> responses;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ObjectWriter userWriter;
+    private final ObjectReader storedUserReader;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final boolean persistent;
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    public UserIdempotencyStore(ObjectMapper objectMapper,
+                                @Value("${techmanage.idempotency.maximum-size:10000}") long maximumSize,
+                                @Value("${techmanage.idempotency.ttl:24h}") Duration ttl,
+                                @Value("${techmanage.idempotency.wait-timeout:30s}") Duration waitTimeout,
+                                @Value("${techmanage.idempotency.persistent:false}") boolean persistent) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new RemainingTtl(ttl))
+                .build();
+        this.userWriter = objectMapper.writerFor(User.class);
+        // createdAt/updatedAt são só leitura na API, mas fazem parte da resposta guardada na tabela
+        this.storedUserReader = objectMapper.copy().addMixIn(User.class, StoredUserMixIn.class).readerFor(User.class);
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.persistent = persistent;
+    }
+
+    // O hash do corpo é calculado antes da execução, que completa o usuário (id, auditoria)
+    public Response execute(String key, User request, Supplier<User> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new UserValidationException(INVALID_KEY);
+        }
+        String requestHash = hash(request);
+
+        StoredResponse stored = lookup(key);
+        if (stored != null) {
+            replayed.increment();
+            return replay(stored, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> future = new CompletableFuture<>();
+        InFlight current = new InFlight(requestHash, future);
+        InFlight existing = inFlight.putIfAbsent(key, current);
+        if (existing != null) {
+            // Outro corpo com a mesma chave é reuso (422), qualquer que seja o resultado da execução em andamento
+            if (!existing.requestHash().equals(requestHash)) {
+                throw new IdempotencyKeyReusedException();
+            }
+            coalesced.increment();
+            return replay(await(existing.future()), requestHash);
+        }
+
+        try {
+            // A execução anterior pode ter terminado entre a consulta acima e o putIfAbsent
+            stored = lookup(key);
+            if (stored != null) {
+                future.complete(stored);
+                replayed.increment();
+                return replay(stored, requestHash);
+            }
+
+            executed.increment();
+            stored = new StoredResponse(requestHash, action.get(), Instant.now());
+            responses.put(key, stored);
+            if (persistent) {
+                persist(key, stored);
+            }
+            future.complete(stored);
+            return new Response(stored.user(), false);
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, current);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${techmanage.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        if (persistent) {
+            recordRepository.deleteOlderThan(Instant.now().minus(ttl));
+        }
+    }
+
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    public long getReplayed() {
+        return replayed.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("techmanage.user.idempotency.requests", executed, LongAdder::sum)
+                .description("POSTs com Idempotency-Key executados")
+                .tag("result", "executed")
+                .register(registry);
+        FunctionCounter.builder("techmanage.user.idempotency.requests", replayed, LongAdder::sum)
+                .description("POSTs com Idempotency-Key respondidos com a resposta guardada")
+                .tag("result", "replayed")
+                .register(registry);
+        FunctionCounter.builder("techmanage.user.idempotency.requests", coalesced, LongAdder::sum)
+                .description("POSTs com Idempotency-Key que aguardaram a execução em andamento da mesma chave")
+                .tag("result", "coalesced")
+                .register(registry);
+        Gauge.builder("techmanage.user.idempotency.stored", responses, Cache::estimatedSize)
+                .description("Respostas guardadas em memória")
+                .register(registry);
+    }
+
+    private Response replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        return new Response(stored.user(), true);
+    }
+
+    private StoredResponse lookup(String key) {
+        StoredResponse stored = responses.getIfPresent(key);
+        if (stored != null || !persistent) {
+            return stored;
+        }
+        IdempotencyRecord record = recordRepository.findById(key).orElse(null);
+        if (record == null || record.getCreatedAt().isBefore(Instant.now().minus(ttl))) {
+            return null;
+        }
+        try {
+            stored = new StoredResponse(record.getRequestHash(), storedUserReader.readValue(record.getResponseBody()),
+                    record.getCreatedAt());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Resposta guardada inválida para a Idempotency-Key " + key, ex);
+        }
+        responses.put(key, stored);
+        return stored;
+    }
+
+    // O usuário já foi criado: uma falha aqui só deixa de proteger retries em outras instâncias
+    private void persist(String key, StoredResponse stored) {
+        try {
+            String body = userWriter.writeValueAsString(stored.user());
+            if (body.length() > MAX_STORED_BODY_LENGTH) {
+                log.warn("Resposta da Idempotency-Key {} não cabe em idempotency_keys ({} caracteres)", key, body.length());
+                return;
+            }
+            recordRepository.save(new IdempotencyRecord(key, stored.requestHash(), body, stored.storedAt()));
+        } catch (JsonProcessingException | DataAccessException ex) {
+            log.warn("Não foi possível gravar a Idempotency-Key {} em idempotency_keys", key, ex);
+        }
+    }
+
+    private String hash(User request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(userWriter.writeValueAsString(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Exceção da execução original (ex.: EmailAlreadyExistsException) é relançada como veio
+    private StoredResponse await(CompletableFuture<StoredResponse> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException ex) {
+            throw new IdempotencyKeyInProgressException();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException();
+        }
+    }
+
+    // Expira ttl depois de storedAt: uma resposta lida de idempotency_keys perto do fim do TTL não ganha
+    // um TTL novo em memória (e não sobrevive à linha apagada por purgeExpired)
+    private static final class RemainingTtl implements Expiry<String, StoredResponse> {
+        private final Duration ttl;
+
+        RemainingTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, StoredResponse value, long currentTime) {
+            long remaining = ttl.minus(Duration.between(value.storedAt(), Instant.now())).toNanos();
+            return Math.max(remaining, 0L);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, StoredResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, StoredResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private abstract static class StoredUserMixIn {
+        @JsonProperty(access = JsonProperty.Access.READ_WRITE)
+        private Instant createdAt;
+
+        @JsonProperty(access = JsonProperty.Access.READ_WRITE)
+        private Instant updatedAt;
+    }
+}
@@ -0,0 +1,102 @@
+package com.techmanage.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.techmanage.entity.User;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Single-flight das leituras de usuário por id: leituras concorrentes do mesmo id compartilham uma
+ * única carga em andamento.
+ *
+ * A primeira thread registra um future no mapa (putIfAbsent, sem lock global) e faz a carga; as que
+ * chegam enquanto ela não termina esperam o mesmo future. Ids diferentes não se bloqueiam. O future
+ * sai do mapa assim que a carga termina, então nada fica em cache: a próxima rajada carrega de novo.
+ * Todas recebem a mesma instância (ou a mesma exceção), por isso só vale para leituras que não
+ * alteram o usuário.
+ */
+@Component
+public class UserLoadCoalescer implements MeterBinder {
+
+    private final ConcurrentMap<Long, CompletableFuture<User>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public User load(Long id, Function<Long, User> loader) {
+        CompletableFuture<User> future = new CompletableFuture<>();
+        CompletableFuture<User> existing = inFlight.putIfAbsent(id, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        loads.increment();
+        try {
+            User user = loader.apply(id);
+            future.complete(user);
+            return user;
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(id, future);
+        }
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    // Fração das leituras atendidas por uma carga de outra thread
+    public double getDedupRatio() {
+        double coalescedCount = coalesced.sum();
+        double total = coalescedCount + loads.sum();
+        return total == 0 ? 0 : coalescedCount / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("techmanage.user.load.requests", loads, LongAdder::sum)
+                .description("Leituras de usuário por id que foram ao repositório")
+                .tag("result", "loaded")
+                .register(registry);
+        FunctionCounter.builder("techmanage.user.load.requests", coalesced, LongAdder::sum)
+                .description("Leituras de usuário por id que aguardaram uma carga já em andamento")
+                .tag("result", "coalesced")
+                .register(registry);
+        Gauge.builder("techmanage.user.load.dedup.ratio", this, UserLoadCoalescer::getDedupRatio)
+                .description("Leituras coalescidas / total de leituras por id")
+                .register(registry);
+    }
+
+    // A exceção original da carga (ex.: UserNotFoundException) é relançada como veio
+    private static User await(CompletableFuture<User> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.techmanage.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.techmanage.dto.UserSearchResult;
+import com.techmanage.entity.User;
+
+/**
+ * Índice invertido em memória sobre nome e email, sem acento e sem caixa.
+ *
+ * Termos com 3+ caracteres são buscados como substring por trigramas; termos de 1 ou 2 caracteres
+ * casam só com o início de palavras (prefixos indexados à parte). Cada usuário recebe um ordinal
+ * crescente, então as listas de postings ficam ordenadas e a interseção é feita por busca binária.
+ * Atualizações e remoções só marcam o ordinal antigo como removido; o índice é compactado quando
+ * os removidos passam da metade.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int COMPACT_MIN_REMOVED = 1024;
+    // Separa nome e email no texto indexado; nenhum termo normalizado contém esse caractere
+    private static final char FIELD_SEPARATOR = '\u0001';
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Postings> postings = new HashMap<>();
+    private List<Entry> entries = new ArrayList<>();
+    private Map<Long, Integer> ordinals = new HashMap<>();
+    private int removed;
+
+    // Inclui ou substitui o usuário (mesmo id); usuários ainda sem id não são indexados
+    public void put(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            markRemoved(user.getId());
+            add(new Entry(user.getId(), user.getFullName(), user.getEmail()));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            markRemoved(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Descarta o conteúdo atual e indexa os usuários informados
+    public void rebuild(Iterator<User> users) {
+        lock.writeLock().lock();
+        try {
+            postings = new HashMap<>();
+            entries = new ArrayList<>();
+            ordinals = new HashMap<>();
+            removed = 0;
+            while (users.hasNext()) {
+                User user = users.next();
+                if (user.getId() == null) {
+                    continue;
+                }
+                markRemoved(user.getId());
+                add(new Entry(user.getId(), user.getFullName(), user.getEmail()));
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ordem: nome começando com o termo, depois início de qualquer palavra, depois substring; empates por inserção
+    public List<UserSearchResult> search(String query, int limit) {
+        String term = normalize(query);
+        if (term.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Entry>> ranks = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            if (term.length() < GRAM_LENGTH) {
+                Postings candidates = postings.get(term);
+                if (candidates != null) {
+                    collect(term, candidates, List.of(), ranks, limit);
+                }
+            } else {
+                List<Postings> lists = new ArrayList<>();
+                for (String gram : grams(term)) {
+                    Postings list = postings.get(gram);
+                    if (list == null) {
+                        return List.of();
+                    }
+                    lists.add(list);
+                }
+                // Só as duas listas menores filtram candidatos: o indexOf no texto confirma o resto mais barato
+                // do que uma busca binária em cada lista restante
+                lists.sort((a, b) -> Integer.compare(a.size, b.size));
+                collect(term, lists.get(0), lists.subList(1, Math.min(2, lists.size())), ranks, limit);
+            }
+
+            List<UserSearchResult> results = new ArrayList<>(limit);
+            for (List<Entry> rank : ranks) {
+                for (Entry entry : rank) {
+                    if (results.size() == limit) {
+                        return results;
+                    }
+                    results.add(new UserSearchResult(entry.id, entry.fullName, entry.email));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Percorre a menor lista conferindo as demais; para assim que houver limit resultados do melhor rank
+    private void collect(String term, Postings smallest, List<Postings> others, List<List<Entry>> ranks, int limit) {
+        for (int i = 0; i < smallest.size && ranks.get(0).size() < limit; i++) {
+            int ordinal = smallest.ordinals[i];
+            Entry entry = entries.get(ordinal);
+            if (entry == null || !containsAll(others, ordinal)) {
+                continue;
+            }
+            int rank = entry.rank(term);
+            if (rank >= 0 && ranks.get(rank).size() < limit) {
+                ranks.get(rank).add(entry);
+            }
+        }
+    }
+
+    private static boolean containsAll(List<Postings> lists, int ordinal) {
+        for (Postings list : lists) {
+            if (Arrays.binarySearch(list.ordinals, 0, list.size, ordinal) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(Entry entry) {
+        int ordinal = entries.size();
+        entries.add(entry);
+        ordinals.put(entry.id, ordinal);
+        for (String key : keys(entry.text)) {
+            postings.computeIfAbsent(key, k -> new Postings()).add(ordinal);
+        }
+    }
+
+    private void markRemoved(Long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            entries.set(ordinal, null);
+            removed++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (removed < COMPACT_MIN_REMOVED || removed * 2 < entries.size()) {
+            return;
+        }
+        List<Entry> live = entries;
+        postings = new HashMap<>();
+        entries = new ArrayList<>(ordinals.size());
+        ordinals = new HashMap<>();
+        removed = 0;
+        for (Entry entry : live) {
+            if (entry != null) {
+                add(entry);
+            }
+        }
+    }
+
+    // Trigramas do texto inteiro + prefixos de 1 e 2 caracteres de cada palavra
+    private static Set<String> keys(String text) {
+        Set<String> keys = grams(text);
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                keys.add(text.substring(start, start + 1));
+                if (i - start >= 2) {
+                    keys.add(text.substring(start, start + 2));
+                }
+                start = -1;
+            }
+        }
+        return keys;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    // Minúsculas, sem acentos e com espaços colapsados: "  José  ÁVILA " -> "jose avila"
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String withoutMarks = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(withoutMarks.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final String fullName;
+        private final String email;
+        private final String text;
+
+        private Entry(long id, String fullName, String email) {
+            this.id = id;
+            this.fullName = fullName;
+            this.email = email;
+            this.text = normalize(fullName) + FIELD_SEPARATOR + normalize(email);
+        }
+
+        // 0: nome começa com o termo; 1: alguma palavra começa com o termo; 2: substring; -1: não contém
+        private int rank(String term) {
+            int index = text.indexOf(term);
+            if (index < 0) {
+                return -1;
+            }
+            if (index == 0) {
+                return 0;
+            }
+            while (index >= 0) {
+                if (!Character.isLetterOrDigit(text.charAt(index - 1))) {
+                    return 1;
+                }
+                index = text.indexOf(term, index + 1);
+            }
+            return 2;
+        }
+    }
+
+    // Lista de ordinais crescentes
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        private void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
@@ -1,17 +1,54 @@
 package com.techmanage.service;
 
+import com.techmanage.dto.BulkUserResult;
+import com.techmanage.dto.UserAvailability;
+import com.techmanage.dto.UserBatch;
+import com.techmanage.dto.UserDelta;
+import com.techmanage.dto.UserPage;
+import com.techmanage.dto.UserSearchResult;
 import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Sort;
 
 public interface UserService {
 
     User createUser(User user);
 
+    List<BulkUserResult> createUsers(Iterator<User> users);
+
     List<User> getAllUsers();
 
+    List<Map<String, Object>> getAllUsers(List<String> fields);
+
+    String getUsersVersion();
+
+    List<UserSearchResult> searchUsers(String query, int limit);
+
+    UserAvailability checkAvailability(String email, String phone);
+
+    UserPage getUsersPage(Long cursor, int limit, Sort.Direction direction, UserType userType);
+
+    void exportUsers(Consumer<User> consumer);
+
+    UserDelta getUsersDelta(String since, int limit);
+
+    CompletableFuture<Void> streamChanges(Long lastEventId, UserChangeFeed.Subscriber subscriber);
+
     User getUserById(Long id);
 
+    UserBatch getUsersByIds(List<Long> ids);
+
     User updateUser(Long id, User user);
 
+    User updateUser(Long id, User user, Long expectedVersion);
+
+    User patchUser(Long id, User changes, Set<String> fields, Long expectedVersion);
+
     void deleteUser(Long id);
 }
\ No newline at end of file
@@ -1,31 +1,211 @@
 package com.techmanage.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.techmanage.dto.BulkUserResult;
+import com.techmanage.dto.UserAvailability;
+import com.techmanage.dto.UserBatch;
+import com.techmanage.dto.UserDelta;
+import com.techmanage.dto.UserPage;
+import com.techmanage.dto.UserSearchResult;
 import com.techmanage.entity.User;
+import com.techmanage.entity.UserChange;
+import com.techmanage.entity.UserType;
 import com.techmanage.exception.EmailAlreadyExistsException;
 import com.techmanage.exception.PhoneAlreadyExistsException;
 import com.techmanage.exception.UserNotFoundException;
+import com.techmanage.exception.UserValidationException;
+import com.techmanage.exception.UserVersionConflictException;
 import com.techmanage.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed(value = "techmanage.user.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final int MAX_BATCH_IDS = 1000;
+    // Tamanho de cada IN (...); com in_clause_parameter_padding o número de planos distintos fica pequeno
+    private static final int BATCH_GET_CHUNK_SIZE = 100;
+    // Ordem também usada para os fieldErrors
+    private static final List<String> PATCHABLE_FIELDS =
+            List.of("fullName", "email", "phone", "birthDate", "userType", "address");
+    private static final List<String> SELECTABLE_FIELDS =
+            List.of("id", "fullName", "email", "phone", "birthDate", "userType", "address");
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserSearchIndex searchIndex;
+
+    @Autowired
+    private UserAvailabilityFilter availabilityFilter;
+
+    @Autowired
+    private UserLoadCoalescer loadCoalescer;
+
+    @Autowired
+    private UserChangeFeed changeFeed;
+
+    @Autowired
+    private UserDeltaSync deltaSync;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Usuário e linha do outbox na mesma transação: o feed de alterações não perde nem inventa escritas
     @Override
+    @Transactional
     public User createUser(User user) {
-        if (userRepository.findAll().stream().anyMatch(u -> u.getEmail().equals(user.getEmail()))) {
-            throw new EmailAlreadyExistsException("Email já está em uso");
+        // Sempre um insert: um id vindo no corpo não pode sobrescrever outro usuário
+        user.setId(null);
+        // Sem verificação prévia: a constraint única é a fonte da verdade mesmo com requisições concorrentes
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateUniqueViolation(ex);
+        }
+        UserChange change = changeFeed.record(savedUser, UserChange.Operation.CREATED, PATCHABLE_FIELDS);
+        userRepository.incrementTableVersion();
+        afterCommit(() -> searchIndex.put(savedUser));
+        afterCommit(() -> changeFeed.publish(change));
+        afterCommit(() -> availabilityFilter.put(savedUser));
+        return savedUser;
+    }
+
+    @Override
+    public List<BulkUserResult> createUsers(Iterator<User> users) {
+        List<BulkUserResult> results = new ArrayList<>();
+        List<User> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        while (users.hasNext()) {
+            chunk.add(users.next());
+            if (chunk.size() == BULK_CHUNK_SIZE || !users.hasNext()) {
+                int offset = results.size();
+                try {
+                    results.addAll(transactionTemplate.execute(status -> createChunk(chunk, offset)));
+                } catch (DataIntegrityViolationException ex) {
+                    // Registro concorrente inserido entre a consulta de duplicidade e o flush do chunk
+                    throw translateUniqueViolation(ex);
+                }
+                chunk.clear();
+            }
+        }
+        return results;
+    }
+
+    // Um chunk = uma transação: validação, uma consulta de duplicidade por campo e inserts em batch
+    private List<BulkUserResult> createChunk(List<User> chunk, int offset) {
+        BulkUserResult[] results = new BulkUserResult[chunk.size()];
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            User user = chunk.get(i);
+            Set<ConstraintViolation<User>> violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                Map<String, String> fieldErrors = new TreeMap<>();
+                violations.forEach(v -> fieldErrors.put(v.getPropertyPath().toString(), v.getMessage()));
+                results[i] = BulkUserResult.invalid(offset + i, fieldErrors);
+            } else {
+                emails.add(user.getEmail());
+                phones.add(user.getPhone());
+            }
+        }
+
+        Set<String> takenEmails = emails.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findExistingEmails(emails));
+        Set<String> takenPhones = phones.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findExistingPhones(phones));
+
+        List<User> toInsert = new ArrayList<>();
+        List<Integer> insertPositions = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            User user = chunk.get(i);
+            Map<String, String> fieldErrors = new TreeMap<>();
+            if (takenEmails.contains(user.getEmail())) {
+                fieldErrors.put(EmailAlreadyExistsException.FIELD, EmailAlreadyExistsException.MESSAGE);
+            }
+            if (takenPhones.contains(user.getPhone())) {
+                fieldErrors.put(PhoneAlreadyExistsException.FIELD, PhoneAlreadyExistsException.MESSAGE);
+            }
+            if (fieldErrors.isEmpty()) {
+                // Reserva email/telefone para detectar duplicidade entre linhas do próprio lote
+                takenEmails.add(user.getEmail());
+                takenPhones.add(user.getPhone());
+                user.setId(null);
+                toInsert.add(user);
+                insertPositions.add(i);
+            } else {
+                results[i] = BulkUserResult.duplicate(offset + i, fieldErrors);
+            }
+        }
+
+        userRepository.saveAll(toInsert);
+        List<UserChange> changes = changeFeed.recordCreated(toInsert, PATCHABLE_FIELDS);
+        entityManager.flush();
+        entityManager.clear();
+        if (!toInsert.isEmpty()) {
+            userRepository.incrementTableVersion();
         }
-        if (userRepository.findAll().stream().anyMatch(u -> u.getPhone().equals(user.getPhone()))) {
-            throw new PhoneAlreadyExistsException("Telefone já está em uso");
+        afterCommit(() -> toInsert.forEach(searchIndex::put));
+        afterCommit(() -> changeFeed.publish(changes));
+        afterCommit(() -> toInsert.forEach(availabilityFilter::put));
+
+        for (int j = 0; j < toInsert.size(); j++) {
+            int i = insertPositions.get(j);
+            results[i] = BulkUserResult.created(offset + i, toInsert.get(j).getId());
         }
-        return userRepository.save(user);
+        return List.of(results);
     }
 
     @Override
@@ -33,25 +213,225 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    // Sparse fieldset: o id vem sempre primeiro, seguido dos campos pedidos na ordem em que vieram
+    @Override
+    public List<Map<String, Object>> getAllUsers(List<String> fields) {
+        Set<String> properties = new LinkedHashSet<>();
+        properties.add("id");
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (String field : fields) {
+            String property = field.trim();
+            if (property.isEmpty()) {
+                continue;
+            }
+            if (SELECTABLE_FIELDS.contains(property)) {
+                properties.add(property);
+            } else {
+                fieldErrors.put(property, "Campo desconhecido");
+            }
+        }
+        if (!fieldErrors.isEmpty()) {
+            throw new UserValidationException(fieldErrors);
+        }
+        return userRepository.findAllProjected(List.copyOf(properties));
+    }
+
+    @Override
+    public List<UserSearchResult> searchUsers(String query, int limit) {
+        if (UserSearchIndex.normalize(query).isEmpty()) {
+            throw new UserValidationException(Map.of("q", "Termo de busca é obrigatório"));
+        }
+        return searchIndex.search(query, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    // Negativo do filtro responde sem ir ao banco; "talvez cadastrado" é confirmado pelo índice único.
+    // O filtro recebe as escritas depois do commit (rollback não deixa rastro); até lá a resposta pode ser
+    // "disponível" para um valor recém-gravado, e a constraint única continua barrando o cadastro duplicado
+    @Override
+    public UserAvailability checkAvailability(String email, String phone) {
+        boolean hasEmail = email != null && !email.isBlank();
+        boolean hasPhone = phone != null && !phone.isBlank();
+        if (!hasEmail && !hasPhone) {
+            throw new UserValidationException(Map.of("email", "Informe email e/ou telefone"));
+        }
+        Boolean emailAvailable = hasEmail
+                ? isAvailable(UserAvailabilityFilter.Field.EMAIL, availabilityFilter.mightContainEmail(email),
+                        () -> userRepository.existsByEmail(email))
+                : null;
+        Boolean phoneAvailable = hasPhone
+                ? isAvailable(UserAvailabilityFilter.Field.PHONE, availabilityFilter.mightContainPhone(phone),
+                        () -> userRepository.existsByPhone(User.normalizePhone(phone)))
+                : null;
+        return new UserAvailability(emailAvailable, phoneAvailable);
+    }
+
+    private boolean isAvailable(UserAvailabilityFilter.Field field, boolean mightContain, BooleanSupplier existsInDatabase) {
+        if (!mightContain) {
+            availabilityFilter.record(field, UserAvailabilityFilter.Outcome.FILTER_NEGATIVE);
+            return true;
+        }
+        boolean taken = existsInDatabase.getAsBoolean();
+        availabilityFilter.record(field, taken
+                ? UserAvailabilityFilter.Outcome.TAKEN
+                : UserAvailabilityFilter.Outcome.FALSE_POSITIVE);
+        return !taken;
+    }
+
+    // Índice de busca e filtro de disponibilidade são reconstruídos do banco na subida (depois do data.sql),
+    // numa única leitura da tabela. O Tomcat já aceita requisições aqui: como as escritas só entram no filtro
+    // depois do commit, cada uma ou já está commitada quando a leitura começa, ou chega ao filtro novo por put
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInMemoryIndexes() {
+        UserAvailabilityFilter.Rebuild availability = availabilityFilter.rebuild(userRepository.count());
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<User> users = userRepository.streamAllByOrderByIdAsc()) {
+                Iterator<User> iterator = users.iterator();
+                searchIndex.rebuild(new Iterator<>() {
+                    private int count;
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public User next() {
+                        // Mesmo cuidado do export: o contexto de persistência não cresce com a tabela
+                        if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                            entityManager.clear();
+                        }
+                        User user = iterator.next();
+                        availability.add(user);
+                        return user;
+                    }
+                });
+            }
+        });
+        availability.publish();
+    }
+
+    @Override
+    public String getUsersVersion() {
+        return String.valueOf(userRepository.findTableVersion());
+    }
+
+    @Override
+    public UserPage getUsersPage(Long cursor, int limit, Sort.Direction direction, UserType userType) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by(direction, "id"));
+        boolean ascending = direction.isAscending();
+        long seek = cursor != null ? cursor : (ascending ? 0L : Long.MAX_VALUE);
+
+        Slice<User> slice;
+        if (userType == null) {
+            slice = ascending
+                    ? userRepository.findByIdGreaterThan(seek, pageable)
+                    : userRepository.findByIdLessThan(seek, pageable);
+        } else {
+            slice = ascending
+                    ? userRepository.findByUserTypeAndIdGreaterThan(userType, seek, pageable)
+                    : userRepository.findByUserTypeAndIdLessThan(userType, seek, pageable);
+        }
+
+        List<User> content = slice.getContent();
+        Long nextCursor = slice.hasNext() ? content.get(content.size() - 1).getId() : null;
+        return new UserPage(content, nextCursor);
+    }
+
+    // Só o que mudou depois do token: usuários por updated_at e exclusões pelas marcas de user_tombstones
+    @Override
+    @Transactional(readOnly = true)
+    public UserDelta getUsersDelta(String since, int limit) {
+        return deltaSync.delta(since, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(Consumer<User> consumer) {
+        try (Stream<User> users = userRepository.streamAllByOrderByIdAsc()) {
+            Iterator<User> iterator = users.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                // Desanexa as linhas já exportadas para o contexto de persistência não crescer com a tabela
+                if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    // Roda numa thread do feed até o cliente desconectar; a thread da requisição é liberada na hora
+    @Override
+    public CompletableFuture<Void> streamChanges(Long lastEventId, UserChangeFeed.Subscriber subscriber) {
+        return changeFeed.subscribe(lastEventId, subscriber);
+    }
+
+    // Leituras concorrentes do mesmo id compartilham uma ida ao repositório. Dentro de uma transação a
+    // carga é própria: o chamador espera a entidade gerenciada pelo seu contexto de persistência
     @Override
     public User getUserById(Long id) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return findUser(id);
+        }
+        return loadCoalescer.load(id, this::findUser);
+    }
+
+    // Para quem vai alterar ou remover o usuário: nunca a instância compartilhada com outras requisições
+    private User findUser(Long id) {
         return userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com ID: " + id));
+                .orElseThrow(() -> new UserNotFoundException(id));
     }
 
+    // Uma ida ao banco por chunk de ids: multiLoad consulta primeiro o second-level cache e só busca
+    // no banco os ids ausentes, com IN (...) em chunks, devolvendo na ordem pedida (null = inexistente)
     @Override
-    public User updateUser(Long id, User user) {
-        User existingUser = getUserById(id);
+    @Transactional(readOnly = true)
+    public UserBatch getUsersByIds(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.remove(null);
+        if (distinctIds.size() > MAX_BATCH_IDS) {
+            throw new UserValidationException(Map.of("ids", "Máximo de " + MAX_BATCH_IDS + " ids por requisição"));
+        }
+        if (distinctIds.isEmpty()) {
+            return new UserBatch(List.of(), List.of());
+        }
 
-        if (!existingUser.getEmail().equals(user.getEmail()) &&
-            userRepository.findAll().stream().anyMatch(u -> u.getEmail().equals(user.getEmail()))) {
-            throw new EmailAlreadyExistsException("Email já está em uso");
+        List<User> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(User.class)
+                .with(CacheMode.NORMAL)
+                .withBatchSize(BATCH_GET_CHUNK_SIZE)
+                .enableOrderedReturn(true)
+                .multiLoad(distinctIds);
+
+        List<User> users = new ArrayList<>(distinctIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            User user = loaded.get(i);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missingIds.add(distinctIds.get(i));
+            }
         }
+        return new UserBatch(users, missingIds);
+    }
 
-        if (!existingUser.getPhone().equals(user.getPhone()) &&
-            userRepository.findAll().stream().anyMatch(u -> u.getPhone().equals(user.getPhone()))) {
-            throw new PhoneAlreadyExistsException("Telefone já está em uso");
+    // Transacional por conta própria: a chamada interna abaixo não passa pelo proxy do Spring
+    @Override
+    @Transactional
+    public User updateUser(Long id, User user) {
+        return updateUser(id, user, null);
+    }
+
+    @Override
+    @Transactional
+    public User updateUser(Long id, User user, Long expectedVersion) {
+        User existingUser = findUser(id);
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new UserVersionConflictException(id);
         }
+        Set<String> changedFields = changedFields(existingUser, user, PATCHABLE_FIELDS);
 
         existingUser.setFullName(user.getFullName());
         existingUser.setEmail(user.getEmail());
@@ -60,12 +440,135 @@ public class UserServiceImpl implements UserService {
         existingUser.setUserType(user.getUserType());
         existingUser.setAddress(user.getAddress()); 
 
-        return userRepository.save(existingUser);
+        return saveChanges(id, existingUser, changedFields);
     }
 
+    // JSON Merge Patch: só os campos presentes no corpo são validados e copiados; com @DynamicUpdate o
+    // UPDATE grava apenas as colunas alteradas, e as constraints de email/telefone só são checadas se mudarem
     @Override
+    @Transactional
+    public User patchUser(Long id, User changes, Set<String> fields, Long expectedVersion) {
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (String field : fields) {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                fieldErrors.put(field, "Campo desconhecido ou não editável");
+            }
+        }
+        for (String field : PATCHABLE_FIELDS) {
+            if (fields.contains(field)) {
+                validator.validateProperty(changes, field)
+                        .forEach(violation -> fieldErrors.put(field, violation.getMessage()));
+            }
+        }
+        if (!fieldErrors.isEmpty()) {
+            throw new UserValidationException(fieldErrors);
+        }
+
+        User existingUser = findUser(id);
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new UserVersionConflictException(id);
+        }
+        Set<String> changedFields = changedFields(existingUser, changes, fields);
+
+        for (String field : fields) {
+            switch (field) {
+                case "fullName" -> existingUser.setFullName(changes.getFullName());
+                case "email" -> existingUser.setEmail(changes.getEmail());
+                case "phone" -> existingUser.setPhone(changes.getPhone());
+                case "birthDate" -> existingUser.setBirthDate(changes.getBirthDate());
+                case "userType" -> existingUser.setUserType(changes.getUserType());
+                case "address" -> existingUser.setAddress(changes.getAddress());
+                default -> throw new IllegalStateException("Campo não tratado: " + field);
+            }
+        }
+
+        return saveChanges(id, existingUser, changedFields);
+    }
+
+    @Override
+    @Transactional
     public void deleteUser(Long id) {
-        User user = getUserById(id);
+        User user = findUser(id);
         userRepository.delete(user);
+        deltaSync.recordDeletion(user);
+        UserChange change = changeFeed.record(user, UserChange.Operation.DELETED, List.of());
+        userRepository.incrementTableVersion();
+        afterCommit(() -> searchIndex.remove(id));
+        afterCommit(() -> changeFeed.publish(change));
+    }
+
+    // Atualização sem nenhum campo diferente não gera UPDATE (@DynamicUpdate) nem evento no feed
+    private User saveChanges(Long id, User existingUser, Set<String> changedFields) {
+        try {
+            User savedUser = userRepository.saveAndFlush(existingUser);
+            if (!changedFields.isEmpty()) {
+                UserChange change = changeFeed.record(savedUser, UserChange.Operation.UPDATED, changedFields);
+                userRepository.incrementTableVersion();
+                afterCommit(() -> changeFeed.publish(change));
+            }
+            afterCommit(() -> searchIndex.put(savedUser));
+            afterCommit(() -> availabilityFilter.put(savedUser));
+            return savedUser;
+        } catch (DataIntegrityViolationException ex) {
+            throw translateUniqueViolation(ex);
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            // Outra requisição atualizou o usuário entre a leitura e o flush
+            throw new UserVersionConflictException(id);
+        }
+    }
+
+    // Campos editáveis (na ordem de PATCHABLE_FIELDS) cujo valor muda de current para changes
+    private static Set<String> changedFields(User current, User changes, Collection<String> fields) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (String field : PATCHABLE_FIELDS) {
+            if (fields.contains(field) && !Objects.equals(fieldValue(current, field), fieldValue(changes, field))) {
+                changed.add(field);
+            }
+        }
+        return changed;
+    }
+
+    private static Object fieldValue(User user, String field) {
+        return switch (field) {
+            case "fullName" -> user.getFullName();
+            case "email" -> user.getEmail();
+            case "phone" -> user.getPhone();
+            case "birthDate" -> user.getBirthDate();
+            case "userType" -> user.getUserType();
+            case "address" -> user.getAddress();
+            default -> throw new IllegalStateException("Campo não tratado: " + field);
+        };
+    }
+
+    // Dentro de uma transação índice e feed só mudam no commit, para não expor escritas desfeitas por rollback
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    // Traduz a violação pelo nome da constraint; outras violações de integridade seguem como estão
+    // Também usado pela pilha reativa (ReactiveUserService), onde a causa vem do driver R2DBC
+    static RuntimeException translateUniqueViolation(DataIntegrityViolationException ex) {
+        String constraint = ex.getMostSpecificCause().getMessage();
+        if (ex.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            constraint = violation.getConstraintName();
+        }
+        constraint = constraint == null ? "" : constraint.toLowerCase(Locale.ROOT);
+
+        if (constraint.contains(User.EMAIL_UNIQUE_CONSTRAINT)) {
+            return new EmailAlreadyExistsException();
+        }
+        if (constraint.contains(User.PHONE_UNIQUE_CONSTRAINT)) {
+            return new PhoneAlreadyExistsException();
+        }
+        return ex;
     }
-}
\ No newline at end of file
+}
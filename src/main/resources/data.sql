@@ -1,7 +1,7 @@
 -- Dados iniciais opcionais para teste
 -- Apenas alguns usuários de exemplo para demonstração
 
-INSERT INTO users (full_name, email, phone, birth_date, user_type, address) VALUES
-('Admin do Sistema', 'admin@techmanage.com', '+5511999999999', '1985-01-15', 'ADMIN', 'Rua Teste, 123'),
-('Editor Principal', 'editor@techmanage.com', '+5511888888888', '1990-03-20', 'EDITOR', 'Rua Teste, 123'),
-('Visualizador Teste', 'viewer@techmanage.com', '+5511777777777', '1995-07-10', 'VIEWER', 'Rua Teste, 123');
\ No newline at end of file
+INSERT INTO users (id, full_name, email, phone, birth_date, user_type, address, version) VALUES
+(NEXT VALUE FOR users_seq, 'Admin do Sistema', 'admin@techmanage.com', '+55 11 99999-9999', '1985-01-15', 'ADMIN', 'Rua Teste, 123', 0),
+(NEXT VALUE FOR users_seq, 'Editor Principal', 'editor@techmanage.com', '+55 11 88888-8888', '1990-03-20', 'EDITOR', 'Rua Teste, 123', 0),
+(NEXT VALUE FOR users_seq, 'Visualizador Teste', 'viewer@techmanage.com', '+55 11 77777-7777', '1995-07-10', 'VIEWER', 'Rua Teste, 123', 0);
\ No newline at end of file
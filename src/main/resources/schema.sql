@@ -1,16 +1,89 @@
 -- Schema SQL para criação das tabelas
--- Este arquivo é opcional, pois o JPA já cria as tabelas automaticamente
+-- Idempotente: no perfil persistent é a única fonte do schema (Hibernate apenas valida)
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     full_name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL,
+    address VARCHAR(255),
     phone VARCHAR(20) NOT NULL,
     birth_date DATE NOT NULL,
     user_type VARCHAR(50) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL,
     CONSTRAINT chk_user_type CHECK (user_type IN ('ADMIN', 'EDITOR', 'VIEWER'))
 );
 
 -- Índices para melhor performance
-CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
-CREATE INDEX IF NOT EXISTS idx_users_user_type ON users(user_type);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_users_user_type ON users(user_type);
+-- email e phone usam os índices das constraints únicas (abaixo)
+DROP INDEX IF EXISTS idx_users_email;
+DROP INDEX IF EXISTS idx_users_phone;
+
+-- Bancos criados antes da coluna address
+ALTER TABLE users ADD COLUMN IF NOT EXISTS address VARCHAR(255);
+-- Bancos criados antes do controle de versão (ETag / If-Match)
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+-- Bancos criados antes da auditoria: linhas existentes recebem o instante da migração
+ALTER TABLE users ADD COLUMN IF NOT EXISTS created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+
+-- Sincronização incremental (GET /api/users/delta): keyset em (updated_at, id)
+CREATE INDEX IF NOT EXISTS idx_users_updated_at ON users(updated_at, id);
+
+-- Migração: telefones legados sem formatação (+5511999999999) para o formato canônico (+55 11 99999-9999)
+UPDATE users SET phone = REGEXP_REPLACE(phone, '^\+(\d{2})(\d{2})(\d+)(\d{4})$', '+$1 $2 $3-$4')
+WHERE REGEXP_LIKE(phone, '^\+\d{11,14}$');
+
+-- Unicidade garantida pelo banco com constraints nomeadas (User.EMAIL_UNIQUE_CONSTRAINT / PHONE_UNIQUE_CONSTRAINT);
+-- após a migração acima para que telefones legados e canônicos iguais sejam detectados
+ALTER TABLE users ADD CONSTRAINT IF NOT EXISTS uk_users_email UNIQUE (email);
+ALTER TABLE users ADD CONSTRAINT IF NOT EXISTS uk_users_phone UNIQUE (phone);
+
+-- Versão da tabela users para o ETag da coleção (GET /api/users): linha única incrementada na transação de
+-- cada escrita, lida sem varrer users; o INSERT só cria a linha se ainda não existir (reinícios mantêm o valor)
+CREATE TABLE IF NOT EXISTS users_version (
+    id INT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO users_version (id, version) SELECT 1, 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM users_version WHERE id = 1);
+
+-- Outbox do feed de alterações (GET /api/users/changes): uma linha por escrita, gravada na mesma transação.
+-- O id é o id do evento SSE (Last-Event-ID); linhas mais antigas que techmanage.changes.retention são removidas
+CREATE SEQUENCE IF NOT EXISTS user_changes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS user_changes (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    operation VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL,
+    changed_fields VARCHAR(255) NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    CONSTRAINT chk_user_changes_operation CHECK (operation IN ('CREATED', 'UPDATED', 'DELETED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_changes_occurred_at ON user_changes(occurred_at);
+
+-- Marcas de exclusão da sincronização incremental, gravadas na transação do DELETE;
+-- linhas mais antigas que techmanage.delta.tombstone-retention são removidas
+CREATE TABLE IF NOT EXISTS user_tombstones (
+    user_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_tombstones_deleted_at ON user_tombstones(deleted_at, user_id);
+
+-- Respostas de POST /api/users com Idempotency-Key (techmanage.idempotency.persistent=true);
+-- linhas mais antigas que techmanage.idempotency.ttl são removidas
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys(created_at);
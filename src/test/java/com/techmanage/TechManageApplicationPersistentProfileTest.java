@@ -0,0 +1,66 @@
+package com.techmanage;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Perfil persistent: dados sobrevivem ao restart e o Hibernate apenas valida o schema criado por schema.sql
+ */
+class TechManageApplicationPersistentProfileTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void persistentProfile_shouldConfigurePoolAndValidateSchema() {
+        try (ConfigurableApplicationContext context = start()) {
+            assertEquals("validate", context.getEnvironment().getProperty("spring.jpa.hibernate.ddl-auto"));
+
+            HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+            assertEquals("techmanage-pool", dataSource.getPoolName());
+            assertEquals(10, dataSource.getMaximumPoolSize());
+            assertEquals(10, dataSource.getMinimumIdle());
+            assertEquals(30000, dataSource.getLeakDetectionThreshold());
+            assertTrue(dataSource.getJdbcUrl().startsWith("jdbc:h2:file:"));
+
+            // data.sql não é executado neste perfil
+            assertEquals(0, context.getBean(UserRepository.class).count());
+        }
+    }
+
+    @Test
+    void persistentProfile_shouldKeepDataAcrossRestarts() {
+        Long id;
+        try (ConfigurableApplicationContext context = start()) {
+            User user = new User("João Silva", "joao@example.com", "+55 11 99999-9999",
+                    LocalDate.of(1990, 5, 15), UserType.ADMIN);
+            id = context.getBean(UserRepository.class).save(user).getId();
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            UserRepository repository = context.getBean(UserRepository.class);
+            assertEquals(1, repository.count());
+            assertEquals("joao@example.com", repository.findById(id).orElseThrow().getEmail());
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(TechManageApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test", "persistent")
+                .run("--spring.datasource.url=jdbc:h2:file:" + dataDir.resolve("techmanage").toAbsolutePath());
+    }
+}
@@ -0,0 +1,59 @@
+package com.techmanage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Perfil prod: sem logging síncrono de SQL no hot path e sem o endpoint loggers (níveis de log alteráveis sem autenticação)
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+@ActiveProfiles({"test", "prod"})
+@AutoConfigureMockMvc
+class TechManageApplicationProdProfileTest {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prodProfile_shouldDisableSynchronousSqlLogging() {
+        assertEquals("false", environment.getProperty("spring.jpa.show-sql"));
+        assertEquals("200", environment.getProperty("spring.jpa.properties.hibernate.session.events.log.LOG_QUERIES_SLOWER_THAN_MS"));
+        assertEquals(Level.WARN, logger("org.hibernate.type.descriptor.sql.BasicBinder").getEffectiveLevel());
+        assertEquals(Level.WARN, logger("org.hibernate.SQL").getEffectiveLevel());
+        assertEquals(Level.INFO, logger("org.hibernate.SQL_SLOW").getEffectiveLevel());
+    }
+
+    @Test
+    void loggersEndpoint_shouldNotBeExposed() throws Exception {
+        mockMvc.perform(post("/actuator/loggers/org.hibernate.SQL")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"configuredLevel\":\"DEBUG\"}"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(Level.WARN, logger("org.hibernate.SQL").getEffectiveLevel());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    private Logger logger(String name) {
+        return (Logger) LoggerFactory.getLogger(name);
+    }
+}
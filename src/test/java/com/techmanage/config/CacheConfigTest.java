@@ -0,0 +1,114 @@
+package com.techmanage.config;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.techmanage.dto.UserBatch;
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.exception.UserNotFoundException;
+import com.techmanage.repository.UserRepository;
+import com.techmanage.service.UserService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheConfigTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void hibernateCacheManager_shouldDefineBoundedUserRegion() {
+        assertNotNull(hibernateCacheManager.getCache(CacheConfig.USER_CACHE));
+    }
+
+    @Test
+    void getUserById_shouldBeServedFromSecondLevelCache() {
+        User saved = userRepository.save(newUser());
+
+        userService.getUserById(saved.getId());
+        userService.getUserById(saved.getId());
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(CacheConfig.USER_CACHE);
+        assertTrue(region.getHitCount() >= 2);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getUsersByIds_shouldLoadOnlyUncachedIdsFromDatabase() {
+        User cached = userRepository.save(newUser());
+        User uncached = userRepository.save(new User("Bruno Costa", "bruno@email.com", "+55 11 92222-2222",
+                LocalDate.of(1991, 1, 1), UserType.VIEWER, "Rua Teste, 123"));
+        entityManagerFactory.getCache().evict(User.class, uncached.getId());
+        statistics.clear();
+
+        UserBatch batch = userService.getUsersByIds(List.of(uncached.getId(), cached.getId(), -1L));
+
+        assertEquals(List.of(uncached.getId(), cached.getId()),
+                batch.getContent().stream().map(User::getId).collect(Collectors.toList()));
+        assertEquals(List.of(-1L), batch.getMissingIds());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheConfig.USER_CACHE).getHitCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateAndDelete_shouldNotServeStaleEntries() {
+        User saved = userRepository.save(newUser());
+        userService.getUserById(saved.getId());
+
+        User changes = newUser();
+        changes.setFullName("Ana Lima Atualizada");
+        userService.updateUser(saved.getId(), changes);
+        assertEquals("Ana Lima Atualizada", userService.getUserById(saved.getId()).getFullName());
+
+        userService.deleteUser(saved.getId());
+        assertThrows(UserNotFoundException.class, () -> userService.getUserById(saved.getId()));
+    }
+
+    private User newUser() {
+        return new User("Ana Lima", "ana@email.com", "+55 11 91111-1111",
+                LocalDate.of(1990, 1, 1), UserType.ADMIN, "Rua Teste, 123");
+    }
+}
@@ -0,0 +1,49 @@
+package com.techmanage.config;
+
+import static org.hamcrest.Matchers.containsString;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+@ActiveProfiles("test")
+@AutoConfigureMetrics
+@AutoConfigureMockMvc
+class MetricsConfigTest {
+
+    // MockMvc auto-configurado inclui os filtros servlet, entre eles o que registra http.server.requests
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpoint_shouldExposeRequestServiceAndPersistenceMetrics() throws Exception {
+        mockMvc.perform(get("/api/users")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/999")).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("exception=\"UserNotFoundException\"")))
+                .andExpect(content().string(containsString("techmanage_user_service_seconds_bucket")))
+                .andExpect(content().string(containsString("method=\"getUserById\"")))
+                .andExpect(content().string(containsString("quantile=\"0.99\"")))
+                .andExpect(content().string(containsString("hikaricp_connections")))
+                .andExpect(content().string(containsString("hibernate_")))
+                .andExpect(content().string(containsString("cache=\"users\"")))
+                .andExpect(content().string(containsString("techmanage_availability_lookups_total")))
+                .andExpect(content().string(containsString("techmanage_availability_filter_memory_bytes")))
+                .andExpect(content().string(containsString("result=\"coalesced\"")))
+                .andExpect(content().string(containsString("techmanage_user_load_dedup_ratio")))
+                .andExpect(content().string(containsString("techmanage_user_changes_events_total")))
+                .andExpect(content().string(containsString("techmanage_user_changes_subscribers")))
+                .andExpect(content().string(containsString("techmanage_user_idempotency_requests_total")));
+    }
+}
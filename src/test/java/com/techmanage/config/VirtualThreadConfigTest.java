@@ -0,0 +1,72 @@
+package com.techmanage.config;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Modo virtual ligado: em Java 21+ o Tomcat usa o executor de virtual threads; antes disso, mantém o próprio pool
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+        properties = "techmanage.server.execution-mode=virtual")
+@ActiveProfiles("test")
+class VirtualThreadConfigTest {
+
+    private static final boolean VIRTUAL_THREADS_SUPPORTED = Runtime.version().feature() >= 21;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Test
+    void requests_AreServedInVirtualMode() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/users?limit=5", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void tomcatExecutor_MatchesRuntimeSupport() {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+        Executor executor = webServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+
+        assertNotNull(executor);
+        assertEquals(VIRTUAL_THREADS_SUPPORTED,
+                !(executor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor),
+                () -> "Executor do Tomcat: " + executor.getClass().getName());
+    }
+
+    @Test
+    void newVirtualThreadPerTaskExecutor_RunsTasksOnVirtualThreads() throws Exception {
+        Optional<ExecutorService> executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor();
+
+        assertEquals(VIRTUAL_THREADS_SUPPORTED, executor.isPresent());
+        if (executor.isPresent()) {
+            Method isVirtual = Thread.class.getMethod("isVirtual");
+            try {
+                assertTrue((Boolean) executor.get().submit(() -> isVirtual.invoke(Thread.currentThread())).get());
+            } finally {
+                executor.get().shutdown();
+                assertTrue(executor.get().awaitTermination(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+}
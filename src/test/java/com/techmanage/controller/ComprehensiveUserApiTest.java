@@ -55,7 +55,7 @@ class ComprehensiveUserApiTest {
         objectMapper.registerModule(new JavaTimeModule());
 
         // Clean database
-        userRepository.deleteAll();
+        userRepository.deleteAllInBatch();
 
         // Create test data
         existingUser1 = new User("João Silva", "joao@email.com", "+55 11 99999-9999",
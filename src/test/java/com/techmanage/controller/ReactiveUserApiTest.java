@@ -0,0 +1,302 @@
+package com.techmanage.controller;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.exception.GlobalExceptionHandler;
+import com.techmanage.repository.UserRepository;
+import com.techmanage.service.ReactiveUserService;
+
+import reactor.test.StepVerifier;
+
+/**
+ * Perfil reactive: mesmo contrato de /api/users (status, corpo, ETag e formato de erro) sobre WebFlux + R2DBC
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-api-test;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-api-test?options=DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles({"test", "reactive"})
+class ReactiveUserApiTest {
+
+    private static final int USER_COUNT = 30;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReactiveUserService reactiveUserService;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        List<User> newUsers = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            newUsers.add(new User("Usuário " + i, "usuario" + i + "@email.com",
+                    String.format("+55 21 9%04d-%04d", i, i), LocalDate.of(1990, 1, 1).plusDays(i),
+                    UserType.values()[i % UserType.values().length], "Rua Teste, " + i));
+        }
+        users = userRepository.saveAll(newUsers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void context_UsesNettyWithoutServletController() {
+        assertTrue(context.getWebServer() instanceof NettyWebServer);
+        assertFalse(context.containsBean("userController"));
+        assertTrue(context.getBeansOfType(GlobalExceptionHandler.class).isEmpty());
+    }
+
+    @Test
+    void createUser_ReturnsCreatedWithSameJsonShape() {
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"fullName\":\"Reativo Silva\",\"email\":\"reativo@email.com\",\"phone\":\"+5521988887777\","
+                        + "\"birthDate\":\"1990-05-15\",\"userType\":\"ADMIN\",\"address\":\"Rua Teste, 123\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.fullName").isEqualTo("Reativo Silva")
+                .jsonPath("$.phone").isEqualTo("+55 21 98888-7777")
+                .jsonPath("$.birthDate").isEqualTo("1990-05-15")
+                .jsonPath("$.userType").isEqualTo("ADMIN")
+                .jsonPath("$.version").doesNotExist();
+    }
+
+    @Test
+    void createUser_ValidationErrorsInMvcOrder() {
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"fullName\":\"\",\"email\":\"invalido\",\"phone\":\"123\",\"birthDate\":\"2999-01-01\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.error").isEqualTo("Erro de validação")
+                .jsonPath("$.path").isEqualTo("/api/users")
+                .jsonPath("$.timestamp").exists()
+                .jsonPath("$.fieldErrors.fullName").isEqualTo("Nome completo é obrigatório")
+                .jsonPath("$.fieldErrors.email").isEqualTo("Email deve ter um formato válido")
+                .jsonPath("$.fieldErrors.birthDate").isEqualTo("Data de nascimento deve estar no passado")
+                .jsonPath("$.fieldErrors.userType").isEqualTo("Tipo de usuário é obrigatório");
+    }
+
+    @Test
+    void createUser_DuplicateEmail() {
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"fullName\":\"Outro\",\"email\":\"usuario0@email.com\",\"phone\":\"+5521911112222\","
+                        + "\"birthDate\":\"1990-05-15\",\"userType\":\"VIEWER\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.fieldErrors.email").isEqualTo("Email já está em uso");
+    }
+
+    @Test
+    void createUser_InvalidUserTypeAndMalformedJson() {
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"fullName\":\"Outro\",\"userType\":\"SUPERUSER\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.fieldErrors.userType").isEqualTo("Tipo de usuário inválido. Valores aceitos: ADMIN, EDITOR, VIEWER");
+
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"fullName\":")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.fieldErrors.request").isEqualTo("Formato JSON inválido");
+    }
+
+    @Test
+    void getAllUsers_StreamsArrayWithWeakETag() {
+        String etag = webTestClient.get().uri("/api/users")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches(HttpHeaders.ETAG, "W/\".+\"")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(USER_COUNT)
+                .jsonPath("$[0].id").isEqualTo(users.get(0).getId().intValue())
+                .returnResult()
+                .getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        // A exclusão incrementa users_version: o ETag antigo deixa de valer
+        webTestClient.delete().uri("/api/users/" + users.get(0).getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(USER_COUNT - 1);
+    }
+
+    @Test
+    void getUsersPage_KeysetCursor() {
+        webTestClient.get().uri("/api/users?limit=20")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size").isEqualTo(20)
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.nextCursor").isEqualTo(users.get(19).getId().intValue());
+
+        webTestClient.get().uri("/api/users?limit=20&cursor=" + users.get(19).getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size").isEqualTo(USER_COUNT - 20)
+                .jsonPath("$.hasNext").isEqualTo(false);
+
+        webTestClient.get().uri("/api/users?limit=abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.fieldErrors.limit").isEqualTo("Valor inválido: abc");
+
+        webTestClient.get().uri("/api/users?limit=")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.fieldErrors.limit").exists();
+    }
+
+    @Test
+    void exportUsers_NdjsonStream() {
+        StepVerifier.create(webTestClient.get().uri("/api/users/export")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .returnResult(User.class)
+                        .getResponseBody())
+                .expectNextCount(USER_COUNT)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllUsers_EmitsOnlyWhatIsRequested() {
+        StepVerifier.create(reactiveUserService.getAllUsers(), 0)
+                .expectSubscription()
+                .expectNoEvent(java.time.Duration.ofMillis(50))
+                .thenRequest(2)
+                .expectNextMatches(user -> user.getId().equals(users.get(0).getId()))
+                .expectNextMatches(user -> user.getId().equals(users.get(1).getId()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void getUserById_StrongETagAndNotFound() {
+        User user = users.get(0);
+        webTestClient.get().uri("/api/users/" + user.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + user.getId() + "-0\"")
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(user.getEmail());
+
+        webTestClient.get().uri("/api/users/" + user.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + user.getId() + "-0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.get().uri("/api/users/999999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.error").isEqualTo("Recurso não encontrado")
+                .jsonPath("$.path").isEqualTo("/api/users/999999")
+                .jsonPath("$.fieldErrors.id").isEqualTo("Usuário não encontrado com ID: 999999");
+    }
+
+    @Test
+    void updateUser_IfMatchVersionCheck() {
+        User user = users.get(0);
+        String body = "{\"fullName\":\"Nome Novo\",\"email\":\"" + user.getEmail() + "\",\"phone\":\"" + user.getPhone()
+                + "\",\"birthDate\":\"1990-01-01\",\"userType\":\"EDITOR\"}";
+
+        webTestClient.put().uri("/api/users/" + user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"" + user.getId() + "-0\"")
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + user.getId() + "-1\"")
+                .expectBody()
+                .jsonPath("$.fullName").isEqualTo("Nome Novo");
+
+        webTestClient.put().uri("/api/users/" + user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"" + user.getId() + "-0\"")
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(412);
+
+        webTestClient.put().uri("/api/users/999999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deleteUser_NoContentThenNotFound() {
+        Long id = users.get(0).getId();
+
+        webTestClient.delete().uri("/api/users/" + id)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.delete().uri("/api/users/" + id)
+                .exchange()
+                .expectStatus().isNotFound();
+        assertEquals(USER_COUNT - 1, userRepository.count());
+    }
+}
@@ -0,0 +1,306 @@
+package com.techmanage.controller;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techmanage.entity.UserChange;
+import com.techmanage.repository.UserChangeRepository;
+import com.techmanage.repository.UserRepository;
+import com.techmanage.service.UserChangeFeed;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * GET /api/users/changes: eventos SSE para criação, atualização e exclusão, com retomada por Last-Event-ID.
+ * max-subscribers acima do pool padrão do executor assíncrono do MVC (8 threads), que os streams não usam
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+        properties = {"techmanage.changes.heartbeat=200ms", "techmanage.changes.max-subscribers=" + UserChangeStreamTest.MAX_SUBSCRIBERS})
+@ActiveProfiles("test")
+class UserChangeStreamTest {
+
+    static final int MAX_SUBSCRIBERS = 12;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserChangeRepository changeRepository;
+
+    @Autowired
+    private UserChangeFeed changeFeed;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<Stream<String>> streams = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        userRepository.deleteAllInBatch();
+        // Streams de outros testes só saem do feed no próximo heartbeat depois de fechados
+        awaitUntil(() -> changeFeed.getSubscribers() == 0, "Assinantes de outros testes ainda conectados");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Sem a conexão, o próximo heartbeat falha e encerra o stream no servidor
+        streams.forEach(Stream::close);
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void mutations_AreStreamedAsServerSentEvents() throws Exception {
+        EventStream stream = connect(null);
+        assertTrue(stream.contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+
+        Long userId = create("Feed Silva", "feed@email.com", "+55 21 96666-1111");
+        // Email repetido: a transação é desfeita e nenhum evento é publicado
+        assertEquals(HttpStatus.BAD_REQUEST, post(userJson("Outro", "feed@email.com", "+55 21 96666-2222")).getStatusCode());
+        restTemplate.exchange("/api/users/" + userId, HttpMethod.PUT,
+                json(userJson("Feed Santos", "feed@email.com", "+55 21 96666-1111")), String.class);
+        restTemplate.delete("/api/users/" + userId);
+
+        JsonNode created = stream.next();
+        assertEquals("CREATED", created.get("operation").asText());
+        assertEquals(userId, created.get("userId").asLong());
+        assertEquals(0, created.get("version").asLong());
+        assertEquals(6, created.get("changedFields").size());
+
+        JsonNode updated = stream.next();
+        assertEquals("UPDATED", updated.get("operation").asText());
+        assertEquals(1, updated.get("version").asLong());
+        assertEquals("[\"fullName\"]", updated.get("changedFields").toString());
+        assertTrue(updated.get("id").asLong() > created.get("id").asLong());
+
+        JsonNode deleted = stream.next();
+        assertEquals("DELETED", deleted.get("operation").asText());
+        assertEquals(userId, deleted.get("userId").asLong());
+        assertEquals(0, deleted.get("changedFields").size());
+        assertNotNull(deleted.get("occurredAt"));
+    }
+
+    @Test
+    void lastEventId_ResumesFromOutbox() throws Exception {
+        EventStream live = connect(null);
+        create("Retomada Um", "retomada1@email.com", "+55 21 96666-3333");
+        long firstEventId = live.next().get("id").asLong();
+        live.close();
+
+        Long second = create("Retomada Dois", "retomada2@email.com", "+55 21 96666-4444");
+        Long third = create("Retomada Tres", "retomada3@email.com", "+55 21 96666-5555");
+
+        EventStream resumed = connect(firstEventId);
+        assertEquals(second, resumed.next().get("userId").asLong());
+        assertEquals(third, resumed.next().get("userId").asLong());
+
+        // Depois do outbox, segue com os eventos ao vivo
+        restTemplate.delete("/api/users/" + second);
+        JsonNode deleted = resumed.next();
+        assertEquals("DELETED", deleted.get("operation").asText());
+        assertEquals(second, deleted.get("userId").asLong());
+    }
+
+    @Test
+    void subscribers_HoldNoConnectionAndDoNotQueueBehindEachOther() throws Exception {
+        long newestId = changeRepository.findTopByOrderByIdDesc().map(UserChange::getId).orElse(0L);
+        List<EventStream> subscribers = new ArrayList<>();
+        // connect() exige 200 e um heartbeat: nenhum assinante fica esperando na fila de outro
+        for (int i = 0; i < MAX_SUBSCRIBERS; i++) {
+            subscribers.add(connect(i % 2 == 0 ? null : newestId));
+        }
+
+        // Parados no ring, os assinantes não seguram conexões do HikariCP
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        awaitUntil(() -> pool.getActiveConnections() == 0, "Conexões ativas com os assinantes parados");
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity("/api/users/export", String.class).getStatusCode());
+
+        Long userId = create("Muitos Assinantes", "muitos@email.com", "+55 21 96666-6666");
+        for (EventStream subscriber : subscribers) {
+            assertEquals(userId, subscriber.next().get("userId").asLong());
+        }
+    }
+
+    @Test
+    void subscriberLimit_ReturnsServiceUnavailable() throws Exception {
+        for (int i = 0; i < MAX_SUBSCRIBERS; i++) {
+            connect(null);
+        }
+
+        // Com 200 o corpo nunca terminaria: o limite de tempo transforma isso em falha
+        HttpResponse<String> response = httpClient.sendAsync(HttpRequest.newBuilder(uri())
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build(), HttpResponse.BodyHandlers.ofString()).get(10, TimeUnit.SECONDS);
+
+        assertEquals(503, response.statusCode());
+        assertEquals(503, MAPPER.readTree(response.body()).get("status").asInt());
+    }
+
+    @Test
+    void invalidLastEventId_ReturnsBadRequest() throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri())
+                .header("Last-Event-ID", "abc")
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, response.statusCode());
+    }
+
+    private EventStream connect(Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri()).header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId.toString());
+        }
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        CompletableFuture<HttpResponse<Stream<String>>> response =
+                httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines());
+        HttpResponse<Stream<String>> headers = response.get(10, TimeUnit.SECONDS);
+        assertEquals(200, headers.statusCode());
+        streams.add(headers.body());
+        CompletableFuture.runAsync(() -> headers.body().forEach(lines::add));
+
+        EventStream stream = new EventStream(lines, headers.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(""), headers.body());
+        // Primeiro heartbeat: o assinante já passou do outbox e espera eventos ao vivo
+        stream.awaitHeartbeat();
+        return stream;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(20);
+        }
+    }
+
+    private URI uri() {
+        return URI.create("http://localhost:" + port + "/api/users/changes");
+    }
+
+    private Long create(String fullName, String email, String phone) {
+        ResponseEntity<String> response = post(userJson(fullName, email, phone));
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        try {
+            return MAPPER.readTree(response.getBody()).get("id").asLong();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ResponseEntity<String> post(String body) {
+        return restTemplate.postForEntity("/api/users", json(body), String.class);
+    }
+
+    private static HttpEntity<String> json(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(body, headers);
+    }
+
+    private static String userJson(String fullName, String email, String phone) {
+        try {
+            return MAPPER.writeValueAsString(Map.of("fullName", fullName, "email", email, "phone", phone,
+                    "birthDate", "1990-05-15", "userType", "EDITOR", "address", "Rua Teste, 123"));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static class EventStream {
+        private final BlockingQueue<String> lines;
+        private final Queue<String> pending = new ArrayDeque<>();
+        private final String contentType;
+        private final Stream<String> body;
+
+        EventStream(BlockingQueue<String> lines, String contentType, Stream<String> body) {
+            this.lines = lines;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        // Linhas lidas antes do heartbeat (eventos reenviados do outbox) ficam para next()
+        void awaitHeartbeat() throws InterruptedException {
+            long deadline = deadline();
+            String line;
+            while (!(line = nextLine(deadline, "Nenhum heartbeat recebido")).equals(":")) {
+                pending.add(line);
+            }
+        }
+
+        // Próximo evento (linhas id/data até a linha em branco), ignorando heartbeats
+        JsonNode next() throws Exception {
+            long deadline = deadline();
+            String id = null;
+            String data = null;
+            while (true) {
+                String line = pending.isEmpty() ? nextLine(deadline, "Nenhum evento recebido") : pending.poll();
+                if (line.startsWith("id: ")) {
+                    id = line.substring(4);
+                } else if (line.startsWith("data: ")) {
+                    data = line.substring(6);
+                } else if (line.isEmpty() && data != null) {
+                    JsonNode event = MAPPER.readTree(data);
+                    assertEquals(id, event.get("id").asText());
+                    return event;
+                }
+            }
+        }
+
+        private static long deadline() {
+            return System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        }
+
+        private String nextLine(long deadline, String message) throws InterruptedException {
+            String line = lines.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            assertNotNull(line, message);
+            return line;
+        }
+
+        void close() {
+            body.close();
+        }
+    }
+}
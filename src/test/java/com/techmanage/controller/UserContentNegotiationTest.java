@@ -0,0 +1,204 @@
+package com.techmanage.controller;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.techmanage.config.UserProtobufHttpMessageConverter;
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.repository.UserRepository;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class UserContentNegotiationTest {
+
+    private static final int USER_COUNT = 50;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        List<User> newUsers = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            newUsers.add(new User("Usuário " + i, "usuario" + i + "@email.com",
+                    String.format("+55 11 9%04d-%04d", i, i), LocalDate.of(1990, 1, 1).plusDays(i),
+                    UserType.values()[i % UserType.values().length], i % 2 == 0 ? "Rua Teste, " + i : null));
+        }
+        users = userRepository.saveAll(newUsers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getAllUsers_DefaultsToJson() throws IOException {
+        ResponseEntity<byte[]> response = get("/api/users", null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(response.getHeaders().getContentType()));
+        assertUsers(new ObjectMapper().readTree(response.getBody()));
+    }
+
+    @Test
+    void getAllUsers_Cbor() throws IOException {
+        ResponseEntity<byte[]> response = get("/api/users", new MediaType("application", "cbor"), null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new MediaType("application", "cbor"), response.getHeaders().getContentType());
+        assertUsers(new CBORMapper().readTree(response.getBody()));
+    }
+
+    @Test
+    void getAllUsers_Smile() throws IOException {
+        ResponseEntity<byte[]> response = get("/api/users", new MediaType("application", "x-jackson-smile"), null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new MediaType("application", "x-jackson-smile"), response.getHeaders().getContentType());
+        assertUsers(new SmileMapper().readTree(response.getBody()));
+    }
+
+    @Test
+    void getAllUsers_Protobuf() throws IOException {
+        ResponseEntity<byte[]> response = get("/api/users", UserProtobufHttpMessageConverter.APPLICATION_PROTOBUF, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(UserProtobufHttpMessageConverter.APPLICATION_PROTOBUF, response.getHeaders().getContentType());
+        JsonNode userList = new ProtobufMapper().readerFor(JsonNode.class)
+                .with(protobufSchema().forType("UserList"))
+                .readValue(response.getBody());
+        JsonNode protobufUsers = userList.get("users");
+        assertEquals(USER_COUNT, protobufUsers.size());
+        assertEquals(users.get(0).getId().longValue(), protobufUsers.get(0).get("id").asLong());
+        assertEquals("usuario0@email.com", protobufUsers.get(0).get("email").asText());
+        assertEquals("1990-01-01", protobufUsers.get(0).get("birthDate").asText());
+        // Sem classes geradas o enum é lido pelo número definido em user.proto (EDITOR = 1)
+        assertEquals(1, protobufUsers.get(1).get("userType").asInt());
+        assertNull(protobufUsers.get(1).get("address"));
+        assertEquals(users.get(0).getUpdatedAt().toString(), protobufUsers.get(0).get("updatedAt").asText());
+    }
+
+    @Test
+    void getUserById_Protobuf() throws IOException {
+        User user = users.get(1);
+
+        ResponseEntity<byte[]> response = get("/api/users/" + user.getId(),
+                UserProtobufHttpMessageConverter.APPLICATION_PROTOBUF, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode node = new ProtobufMapper().readerFor(JsonNode.class)
+                .with(protobufSchema().forType("User"))
+                .readValue(response.getBody());
+        assertEquals(user.getId().longValue(), node.get("id").asLong());
+        assertEquals(user.getEmail(), node.get("email").asText());
+        assertEquals(1, node.get("userType").asInt());
+        assertNull(node.get("address"));
+    }
+
+    @Test
+    void getUserById_NotFoundWithProtobufAccept_ReturnsJsonError() throws IOException {
+        ResponseEntity<byte[]> response = get("/api/users/99999", UserProtobufHttpMessageConverter.APPLICATION_PROTOBUF, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(response.getHeaders().getContentType()));
+        JsonNode error = new ObjectMapper().readTree(response.getBody());
+        assertEquals(404, error.get("status").asInt());
+        assertEquals("Usuário não encontrado com ID: 99999", error.get("fieldErrors").get("id").asText());
+    }
+
+    @Test
+    void getUserById_InvalidIdWithProtobufAccept_ReturnsJsonError() throws IOException {
+        ResponseEntity<byte[]> response = get("/api/users/abc", UserProtobufHttpMessageConverter.APPLICATION_PROTOBUF, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(response.getHeaders().getContentType()));
+        JsonNode error = new ObjectMapper().readTree(response.getBody());
+        assertEquals(400, error.get("status").asInt());
+        assertTrue(error.get("fieldErrors").has("id"));
+    }
+
+    @Test
+    void getAllUsers_GzipWhenAccepted() throws IOException {
+        ResponseEntity<byte[]> response = get("/api/users", MediaType.APPLICATION_JSON, "gzip");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertUsers(new ObjectMapper().readTree(in));
+        }
+    }
+
+    @Test
+    void getUserById_SmallResponseIsNotCompressed() {
+        ResponseEntity<byte[]> response = get("/api/users/" + users.get(0).getId(), MediaType.APPLICATION_JSON, "gzip");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private ResponseEntity<byte[]> get(String path, MediaType accept, String acceptEncoding) {
+        HttpHeaders headers = new HttpHeaders();
+        if (accept != null) {
+            headers.setAccept(List.of(accept));
+        }
+        if (acceptEncoding != null) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private void assertUsers(JsonNode array) {
+        assertEquals(USER_COUNT, array.size());
+        JsonNode first = array.get(0);
+        assertEquals(users.get(0).getId().longValue(), first.get("id").asLong());
+        assertEquals("Usuário 0", first.get("fullName").asText());
+        assertEquals("usuario0@email.com", first.get("email").asText());
+        assertEquals("+55 11 90000-0000", first.get("phone").asText());
+        assertEquals("1990-01-01", first.get("birthDate").asText());
+        assertEquals("ADMIN", first.get("userType").asText());
+        assertEquals("Rua Teste, 0", first.get("address").asText());
+    }
+
+    private static NativeProtobufSchema protobufSchema() throws IOException {
+        return ProtobufSchemaLoader.std.loadNative(
+                UserContentNegotiationTest.class.getResourceAsStream(UserProtobufHttpMessageConverter.SCHEMA_LOCATION), true);
+    }
+}
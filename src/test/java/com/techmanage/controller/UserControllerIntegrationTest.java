@@ -6,6 +6,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,13 +15,22 @@ import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -29,6 +39,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.techmanage.entity.User;
 import com.techmanage.entity.UserType;
 import com.techmanage.repository.UserRepository;
+import com.techmanage.service.UserSearchIndex;
+import com.techmanage.service.UserService;
 
 @SpringBootTest(webEnvironment = WebEnvironment.MOCK)
 @ActiveProfiles("test")
@@ -43,6 +55,12 @@ class UserControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserSearchIndex searchIndex;
+
+    @Autowired
+    private UserService userService;
+
     private ObjectMapper objectMapper;
     private User testUser;
 
@@ -53,7 +71,7 @@ class UserControllerIntegrationTest {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
 
-        userRepository.deleteAll();
+        userRepository.deleteAllInBatch();
 
         testUser = new User("João Silva", "joao@email.com", "+5511999999999",
                            LocalDate.of(1990, 5, 15), UserType.ADMIN, "Rua Teste, 123");
@@ -75,6 +93,20 @@ class UserControllerIntegrationTest {
 
     }
 
+    @Test
+    void createUser_UnformattedPhone_IsNormalized() throws Exception {
+        String userJson = "{\"fullName\":\"João Silva\",\"email\":\"joao@email.com\",\"phone\":\"+5511966665555\","
+                + "\"birthDate\":\"1990-05-15\",\"userType\":\"ADMIN\"}";
+
+        mockMvc.perform(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.phone", is("+55 11 96666-5555")));
+
+        assertEquals("+55 11 96666-5555", userRepository.findAll().get(0).getPhone());
+    }
+
     @Test
     void createUser_InvalidData() throws Exception {
         User invalidUser = new User("", "email-invalido", "telefone-invalido",
@@ -310,4 +342,407 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.path", is("/api/users/999")))
                 .andExpect(jsonPath("$.fieldErrors.id", is("Usuário não encontrado com ID: 999")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUsersPage_KeysetPagination() throws Exception {
+        User first = userRepository.save(new User("Ana Lima", "ana@email.com", "+55 11 91111-1111",
+                LocalDate.of(1990, 1, 1), UserType.ADMIN, "Rua Teste, 123"));
+        User second = userRepository.save(new User("Bruno Costa", "bruno@email.com", "+55 11 92222-2222",
+                LocalDate.of(1991, 1, 1), UserType.VIEWER, "Rua Teste, 123"));
+        User third = userRepository.save(new User("Carla Dias", "carla@email.com", "+55 11 93333-3333",
+                LocalDate.of(1992, 1, 1), UserType.VIEWER, "Rua Teste, 123"));
+
+        mockMvc.perform(get("/api/users").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id", is(first.getId().intValue())))
+                .andExpect(jsonPath("$.content[1].id", is(second.getId().intValue())))
+                .andExpect(jsonPath("$.nextCursor", is(second.getId().intValue())))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+
+        mockMvc.perform(get("/api/users").param("limit", "2").param("cursor", second.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(third.getId().intValue())))
+                .andExpect(jsonPath("$.nextCursor", nullValue()))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    void getUsersByIds_PreservesOrderAndReportsMissing() throws Exception {
+        User first = userRepository.save(new User("Ana Lima", "ana@email.com", "+55 11 91111-1111",
+                LocalDate.of(1990, 1, 1), UserType.ADMIN, "Rua Teste, 123"));
+        User second = userRepository.save(new User("Bruno Costa", "bruno@email.com", "+55 11 92222-2222",
+                LocalDate.of(1991, 1, 1), UserType.VIEWER, "Rua Teste, 123"));
+        long missingId = second.getId() + 1000;
+
+        mockMvc.perform(get("/api/users")
+                        .param("ids", second.getId() + "," + missingId + "," + first.getId() + "," + second.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size", is(2)))
+                .andExpect(jsonPath("$.content[0].id", is(second.getId().intValue())))
+                .andExpect(jsonPath("$.content[1].id", is(first.getId().intValue())))
+                .andExpect(jsonPath("$.missingIds", hasSize(1)))
+                .andExpect(jsonPath("$.missingIds[0]", is((int) missingId)));
+    }
+
+    @Test
+    void getUsersByIds_InvalidId() throws Exception {
+        mockMvc.perform(get("/api/users").param("ids", "1,abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.ids").exists());
+    }
+
+    @Test
+    void getUsersPage_FilterByUserTypeDescending() throws Exception {
+        userRepository.save(new User("Ana Lima", "ana@email.com", "+55 11 91111-1111",
+                LocalDate.of(1990, 1, 1), UserType.ADMIN, "Rua Teste, 123"));
+        User second = userRepository.save(new User("Bruno Costa", "bruno@email.com", "+55 11 92222-2222",
+                LocalDate.of(1991, 1, 1), UserType.VIEWER, "Rua Teste, 123"));
+        User third = userRepository.save(new User("Carla Dias", "carla@email.com", "+55 11 93333-3333",
+                LocalDate.of(1992, 1, 1), UserType.VIEWER, "Rua Teste, 123"));
+
+        mockMvc.perform(get("/api/users").param("limit", "10").param("sort", "DESC").param("userType", "VIEWER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id", is(third.getId().intValue())))
+                .andExpect(jsonPath("$.content[1].id", is(second.getId().intValue())))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    void getUsersPage_InvalidUserType() throws Exception {
+        mockMvc.perform(get("/api/users").param("limit", "10").param("userType", "INVALID_TYPE"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)))
+                .andExpect(jsonPath("$.error", is("Erro de validação")))
+                .andExpect(jsonPath("$.fieldErrors.userType", is("Tipo de usuário inválido. Valores aceitos: ADMIN, EDITOR, VIEWER")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportUsers_StreamsNdjson() throws Exception {
+        // A exportação roda em uma thread assíncrona com transação própria, então as linhas precisam estar confirmadas
+        userRepository.deleteAll();
+        User first = userRepository.save(new User("Ana Lima", "ana@email.com", "+55 11 91111-1111",
+                LocalDate.of(1990, 1, 1), UserType.ADMIN, "Rua Teste, 123"));
+        userRepository.save(new User("Bruno Costa", "bruno@email.com", "+55 11 92222-2222",
+                LocalDate.of(1991, 1, 1), UserType.VIEWER, "Rua Teste, 123"));
+
+        try {
+            MvcResult result = mockMvc.perform(get("/api/users/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertEquals(2, lines.length);
+            assertEquals(first.getId(), objectMapper.readValue(lines[0], User.class).getId());
+            assertEquals("bruno@email.com", objectMapper.readValue(lines[1], User.class).getEmail());
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void createUsers_BulkJsonArrayReportsResultPerRow() throws Exception {
+        userRepository.save(new User("Ana Lima", "ana@email.com", "+55 11 91111-1111",
+                LocalDate.of(1990, 1, 1), UserType.ADMIN, "Rua Teste, 123"));
+
+        String body = "[" +
+                "{\"fullName\":\"Bruno Costa\",\"email\":\"bruno@email.com\",\"phone\":\"+55 11 92222-2222\",\"birthDate\":\"1991-01-01\",\"userType\":\"VIEWER\"}," +
+                "{\"fullName\":\"\",\"email\":\"carla@email.com\",\"phone\":\"123\",\"birthDate\":\"1992-01-01\",\"userType\":\"VIEWER\"}," +
+                "{\"fullName\":\"Outra Ana\",\"email\":\"ana@email.com\",\"phone\":\"+55 11 93333-3333\",\"birthDate\":\"1993-01-01\",\"userType\":\"EDITOR\"}," +
+                "{\"fullName\":\"Daniel Reis\",\"email\":\"daniel@email.com\",\"phone\":\"+55 11 92222-2222\",\"birthDate\":\"1994-01-01\",\"userType\":\"ADMIN\"}" +
+                "]";
+
+        mockMvc.perform(post("/api/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].id", notNullValue()))
+                .andExpect(jsonPath("$[1].status", is("INVALID")))
+                .andExpect(jsonPath("$[1].fieldErrors.fullName", notNullValue()))
+                .andExpect(jsonPath("$[1].fieldErrors.phone", notNullValue()))
+                .andExpect(jsonPath("$[2].status", is("DUPLICATE")))
+                .andExpect(jsonPath("$[2].fieldErrors.email", is("Email já está em uso")))
+                .andExpect(jsonPath("$[3].index", is(3)))
+                .andExpect(jsonPath("$[3].status", is("DUPLICATE")))
+                .andExpect(jsonPath("$[3].fieldErrors.phone", is("Telefone já está em uso")));
+
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void createUsers_BulkNdjson() throws Exception {
+        String body =
+                "{\"fullName\":\"Bruno Costa\",\"email\":\"bruno@email.com\",\"phone\":\"+55 11 92222-2222\",\"birthDate\":\"1991-01-01\",\"userType\":\"VIEWER\"}\n" +
+                "{\"fullName\":\"Carla Dias\",\"email\":\"carla@email.com\",\"phone\":\"+55 11 93333-3333\",\"birthDate\":\"1992-01-01\",\"userType\":\"EDITOR\"}\n";
+
+        mockMvc.perform(post("/api/users/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("CREATED")));
+
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void createUsers_BulkInvalidUserType() throws Exception {
+        String body = "[{\"fullName\":\"Bruno Costa\",\"email\":\"bruno@email.com\",\"phone\":\"+55 11 92222-2222\",\"birthDate\":\"1991-01-01\",\"userType\":\"INVALID_TYPE\"}]";
+
+        mockMvc.perform(post("/api/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.userType", is("Tipo de usuário inválido. Valores aceitos: ADMIN, EDITOR, VIEWER")));
+    }
+
+    @Test
+    void getUserById_ETagAndIfNoneMatch() throws Exception {
+        User savedUser = userRepository.saveAndFlush(testUser);
+        String etag = "\"" + savedUser.getId() + "-0\"";
+
+        mockMvc.perform(get("/api/users/" + savedUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        mockMvc.perform(get("/api/users/" + savedUser.getId())
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updateUser_IfMatchRejectsStaleVersion() throws Exception {
+        User savedUser = userRepository.saveAndFlush(testUser);
+        String etag = "\"" + savedUser.getId() + "-0\"";
+
+        User updatedUser = new User("João Santos", "joao.santos@email.com", "+5511888888888",
+                                   LocalDate.of(1990, 5, 15), UserType.EDITOR, "Rua Teste, 123");
+        String userJson = objectMapper.writeValueAsString(updatedUser);
+
+        mockMvc.perform(put("/api/users/" + savedUser.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + savedUser.getId() + "-1\""))
+                .andExpect(jsonPath("$.fullName", is("João Santos")));
+
+        mockMvc.perform(put("/api/users/" + savedUser.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status", is(412)))
+                .andExpect(jsonPath("$.fieldErrors.version", notNullValue()));
+
+        mockMvc.perform(put("/api/users/" + savedUser.getId())
+                .header("If-Match", "W/\"" + savedUser.getId() + "-1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void getAllUsers_CollectionETag() throws Exception {
+        userRepository.saveAndFlush(testUser);
+
+        String etag = mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/users").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // A versão da coleção muda nas escritas feitas pelo serviço (users_version)
+        userService.createUser(new User("Maria Santos", "maria@email.com", "+5511888888888",
+                                   LocalDate.of(1985, 8, 20), UserType.EDITOR, "Rua Teste, 123"));
+
+        String newEtag = mockMvc.perform(get("/api/users").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void getAllUsers_SparseFieldset() throws Exception {
+        User savedUser = userRepository.saveAndFlush(testUser);
+
+        mockMvc.perform(get("/api/users").param("fields", "fullName,email"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(savedUser.getId().intValue())))
+                .andExpect(jsonPath("$[0].fullName", is(savedUser.getFullName())))
+                .andExpect(jsonPath("$[0].email", is(savedUser.getEmail())))
+                .andExpect(jsonPath("$[0].phone").doesNotExist())
+                .andExpect(jsonPath("$[0].address").doesNotExist())
+                .andExpect(jsonPath("$[0].birthDate").doesNotExist());
+    }
+
+    @Test
+    void getAllUsers_SparseFieldsetUnknownField() throws Exception {
+        mockMvc.perform(get("/api/users").param("fields", "fullName,version"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.version").exists());
+    }
+
+    @Test
+    void getAllUsers_SparseFieldsetWithLimitOrIdsRejected() throws Exception {
+        User savedUser = userRepository.saveAndFlush(testUser);
+
+        mockMvc.perform(get("/api/users").param("limit", "10").param("fields", "email"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.fields").exists());
+
+        mockMvc.perform(get("/api/users").param("ids", savedUser.getId().toString()).param("fields", "email"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.fields").exists());
+    }
+
+    @Test
+    void searchUsers_ServedFromIndex() throws Exception {
+        // Teste transacional: o índice só é atualizado no commit, então o usuário é indexado aqui
+        User savedUser = userRepository.saveAndFlush(testUser);
+        searchIndex.put(savedUser);
+        try {
+            mockMvc.perform(get("/api/users/search").param("q", "JOÃO sil"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id", is(savedUser.getId().intValue())))
+                    .andExpect(jsonPath("$[0].fullName", is(savedUser.getFullName())))
+                    .andExpect(jsonPath("$[0].email", is(savedUser.getEmail())))
+                    .andExpect(jsonPath("$[0].phone").doesNotExist());
+        } finally {
+            searchIndex.remove(savedUser.getId());
+        }
+    }
+
+    @Test
+    void searchUsers_MissingQuery() throws Exception {
+        mockMvc.perform(get("/api/users/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.q").exists());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void checkAvailability_ReflectsCreatedUser() throws Exception {
+        // O filtro de disponibilidade só recebe a escrita depois do commit da transação
+        User user = new User("Paula Disponível", "disponibilidade@email.com", "+5521966661234",
+                LocalDate.of(1992, 3, 10), UserType.VIEWER, "Rua Teste, 123");
+
+        try {
+            mockMvc.perform(get("/api/users/availability")
+                    .param("email", "disponibilidade@email.com")
+                    .param("phone", "+5521966661234"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.emailAvailable", is(true)))
+                    .andExpect(jsonPath("$.phoneAvailable", is(true)));
+
+            mockMvc.perform(post("/api/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(user)))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/api/users/availability")
+                    .param("email", "disponibilidade@email.com")
+                    .param("phone", "+55 21 96666-1234"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.emailAvailable", is(false)))
+                    .andExpect(jsonPath("$.phoneAvailable", is(false)));
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void checkAvailability_OnlyRequestedFields() throws Exception {
+        mockMvc.perform(get("/api/users/availability").param("email", "ninguem@email.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.emailAvailable", is(true)))
+                .andExpect(jsonPath("$.phoneAvailable").doesNotExist());
+    }
+
+    @Test
+    void checkAvailability_MissingParameters() throws Exception {
+        mockMvc.perform(get("/api/users/availability"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.email").exists());
+    }
+
+    @Test
+    void patchUser_MergePatchChangesOnlyTouchedFields() throws Exception {
+        User savedUser = userRepository.saveAndFlush(testUser);
+
+        mockMvc.perform(patch("/api/users/" + savedUser.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"address\":\"Rua Nova, 456\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + savedUser.getId() + "-1\""))
+                .andExpect(jsonPath("$.address", is("Rua Nova, 456")))
+                .andExpect(jsonPath("$.fullName", is("João Silva")))
+                .andExpect(jsonPath("$.email", is("joao@email.com")))
+                .andExpect(jsonPath("$.phone", is("+55 11 99999-9999")));
+
+        mockMvc.perform(patch("/api/users/" + savedUser.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"address\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.address", nullValue()));
+    }
+
+    @Test
+    void patchUser_ValidatesOnlyTouchedFields() throws Exception {
+        User savedUser = userRepository.saveAndFlush(testUser);
+
+        mockMvc.perform(patch("/api/users/" + savedUser.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"email\":\"email-invalido\",\"id\":99}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.email", is("Email deve ter um formato válido")))
+                .andExpect(jsonPath("$.fieldErrors.id", is("Campo desconhecido ou não editável")))
+                .andExpect(jsonPath("$.fieldErrors.fullName").doesNotExist());
+
+        mockMvc.perform(patch("/api/users/" + savedUser.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"fullName\":null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.fullName", is("Nome completo é obrigatório")));
+
+        mockMvc.perform(patch("/api/users/" + savedUser.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"userType\":\"INVALID_TYPE\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.userType", is("Tipo de usuário inválido. Valores aceitos: ADMIN, EDITOR, VIEWER")));
+
+        mockMvc.perform(patch("/api/users/" + savedUser.getId())
+                .contentType("application/merge-patch+json")
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.request", is("Formato JSON inválido")));
+    }
+
+    @Test
+    void patchUser_NotFound() throws Exception {
+        mockMvc.perform(patch("/api/users/999")
+                .contentType("application/merge-patch+json")
+                .content("{\"address\":\"Rua Nova, 456\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.fieldErrors.id", is("Usuário não encontrado com ID: 999")));
+    }
+}
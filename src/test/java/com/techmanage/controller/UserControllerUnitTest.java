@@ -17,15 +17,21 @@ import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.techmanage.dto.UserAvailability;
+import com.techmanage.dto.UserSearchResult;
 import com.techmanage.entity.User;
 import com.techmanage.entity.UserType;
+import com.techmanage.service.UserIdempotencyStore;
 import com.techmanage.service.UserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +40,9 @@ class UserControllerUnitTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserIdempotencyStore idempotencyStore;
+
     @InjectMocks
     private UserController userController;
 
@@ -54,7 +63,7 @@ class UserControllerUnitTest {
         when(userService.createUser(any(User.class))).thenReturn(testUser);
 
         // When
-        ResponseEntity<User> response = userController.createUser(inputUser);
+        ResponseEntity<User> response = userController.createUser(inputUser, null);
 
         // Then
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
@@ -64,6 +73,21 @@ class UserControllerUnitTest {
         verify(userService).createUser(inputUser);
     }
 
+    @Test
+    void createUser_withIdempotencyKey_shouldReturnStoredResponse() {
+        User inputUser = new User("João Silva", "joao@email.com", "+5511999999999",
+                                LocalDate.of(1990, 5, 15), UserType.ADMIN, "Rua Teste, 123");
+        when(idempotencyStore.execute(eq("chave-1"), eq(inputUser), any()))
+                .thenReturn(new UserIdempotencyStore.Response(testUser, true));
+
+        ResponseEntity<User> response = userController.createUser(inputUser, "chave-1");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(testUser, response.getBody());
+        assertEquals("true", response.getHeaders().getFirst("Idempotent-Replayed"));
+        verify(userService, never()).createUser(any(User.class));
+    }
+
     @Test
     void createUser_shouldHandleNullUser() {
         // Given
@@ -71,7 +95,7 @@ class UserControllerUnitTest {
 
         // When/Then
         assertThrows(NullPointerException.class, () -> {
-            userController.createUser(inputUser);
+            userController.createUser(inputUser, null);
         });
     }
 
@@ -85,7 +109,7 @@ class UserControllerUnitTest {
         when(userService.getAllUsers()).thenReturn(users);
 
         // When
-        ResponseEntity<List<User>> response = userController.getAllUsers();
+        ResponseEntity<List<User>> response = userController.getAllUsers(new ServletWebRequest(new MockHttpServletRequest()));
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -102,7 +126,7 @@ class UserControllerUnitTest {
         when(userService.getAllUsers()).thenReturn(Arrays.asList());
 
         // When
-        ResponseEntity<List<User>> response = userController.getAllUsers();
+        ResponseEntity<List<User>> response = userController.getAllUsers(new ServletWebRequest(new MockHttpServletRequest()));
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -167,7 +191,7 @@ class UserControllerUnitTest {
         when(userService.updateUser(eq(userId), any(User.class))).thenReturn(updatedUser);
 
         // When
-        ResponseEntity<User> response = userController.updateUser(userId, updateData);
+        ResponseEntity<User> response = userController.updateUser(userId, updateData, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -186,7 +210,7 @@ class UserControllerUnitTest {
                                  LocalDate.of(1990, 5, 15), UserType.EDITOR, "Rua Teste, 123");
 
         // When
-        ResponseEntity<User> response = userController.updateUser(userId, updateData);
+        ResponseEntity<User> response = userController.updateUser(userId, updateData, null);
 
         // Then
         verify(userService).updateUser(null, updateData);
@@ -200,7 +224,7 @@ class UserControllerUnitTest {
 
         // When/Then
         assertThrows(NullPointerException.class, () -> {
-            userController.updateUser(userId, updateData);
+            userController.updateUser(userId, updateData, null);
         });
     }
 
@@ -263,7 +287,7 @@ class UserControllerUnitTest {
                                 LocalDate.of(1980, 1, 1), UserType.ADMIN, "Rua Teste, 123");
         when(userService.createUser(any(User.class))).thenReturn(adminUser);
 
-        ResponseEntity<User> adminResponse = userController.createUser(adminUser);
+        ResponseEntity<User> adminResponse = userController.createUser(adminUser, null);
         assertEquals(HttpStatus.CREATED, adminResponse.getStatusCode());
 
         // Test with EDITOR
@@ -271,7 +295,7 @@ class UserControllerUnitTest {
                                  LocalDate.of(1985, 6, 15), UserType.EDITOR, "Rua Teste, 123");
         when(userService.createUser(any(User.class))).thenReturn(editorUser);
 
-        ResponseEntity<User> editorResponse = userController.createUser(editorUser);
+        ResponseEntity<User> editorResponse = userController.createUser(editorUser, null);
         assertEquals(HttpStatus.CREATED, editorResponse.getStatusCode());
 
         // Test with VIEWER
@@ -279,7 +303,7 @@ class UserControllerUnitTest {
                                  LocalDate.of(1990, 12, 31), UserType.VIEWER, "Rua Teste, 123");
         when(userService.createUser(any(User.class))).thenReturn(viewerUser);
 
-        ResponseEntity<User> viewerResponse = userController.createUser(viewerUser);
+        ResponseEntity<User> viewerResponse = userController.createUser(viewerUser, null);
         assertEquals(HttpStatus.CREATED, viewerResponse.getStatusCode());
 
         verify(userService, times(3)).createUser(any(User.class));
@@ -296,7 +320,7 @@ class UserControllerUnitTest {
         adminUpdate.setId(userId);
         when(userService.updateUser(eq(userId), any(User.class))).thenReturn(adminUpdate);
 
-        ResponseEntity<User> adminResponse = userController.updateUser(userId, adminUpdate);
+        ResponseEntity<User> adminResponse = userController.updateUser(userId, adminUpdate, null);
         assertEquals(HttpStatus.OK, adminResponse.getStatusCode());
         assertEquals(UserType.ADMIN, adminResponse.getBody().getUserType());
 
@@ -306,7 +330,7 @@ class UserControllerUnitTest {
         editorUpdate.setId(userId);
         when(userService.updateUser(eq(userId), any(User.class))).thenReturn(editorUpdate);
 
-        ResponseEntity<User> editorResponse = userController.updateUser(userId, editorUpdate);
+        ResponseEntity<User> editorResponse = userController.updateUser(userId, editorUpdate, null);
         assertEquals(HttpStatus.OK, editorResponse.getStatusCode());
         assertEquals(UserType.EDITOR, editorResponse.getBody().getUserType());
 
@@ -332,7 +356,7 @@ class UserControllerUnitTest {
         when(userService.getAllUsers()).thenReturn(users);
 
         // When
-        ResponseEntity<List<User>> response = userController.getAllUsers();
+        ResponseEntity<List<User>> response = userController.getAllUsers(new ServletWebRequest(new MockHttpServletRequest()));
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -342,4 +366,32 @@ class UserControllerUnitTest {
         assertTrue(response.getBody().stream().anyMatch(u -> u.getUserType() == UserType.VIEWER));
         verify(userService).getAllUsers();
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchUsers_shouldDelegateToService() {
+        // Given
+        List<UserSearchResult> results = List.of(new UserSearchResult(1L, "João Silva", "joao@email.com"));
+        when(userService.searchUsers("joao", 10)).thenReturn(results);
+
+        // When
+        ResponseEntity<List<UserSearchResult>> response = userController.searchUsers("joao", 10);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    void checkAvailability_shouldDelegateToService() {
+        // Given
+        UserAvailability availability = new UserAvailability(false, true);
+        when(userService.checkAvailability("joao@email.com", "+5511955554444")).thenReturn(availability);
+
+        // When
+        ResponseEntity<UserAvailability> response = userController.checkAvailability("joao@email.com", "+5511955554444");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(availability, response.getBody());
+    }
+}
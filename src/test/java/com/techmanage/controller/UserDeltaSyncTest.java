@@ -0,0 +1,184 @@
+package com.techmanage.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techmanage.repository.UserRepository;
+import com.techmanage.repository.UserTombstoneRepository;
+
+/**
+ * GET /api/users/delta: só usuários criados/alterados e ids excluídos depois do token, paginado por keyset.
+ * commit-window=0s para que as escritas do próprio teste entrem no delta na hora.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK, properties = "techmanage.delta.commit-window=0s")
+@ActiveProfiles("test")
+class UserDeltaSyncTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTombstoneRepository tombstoneRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        userRepository.deleteAllInBatch();
+        tombstoneRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void delta_WithToken_ReturnsOnlyChangesSinceToken() throws Exception {
+        long unchanged = create("Delta Fixo", "fixo@email.com", "+55 21 95555-1111");
+        long updated = create("Delta Alterado", "alterado@email.com", "+55 21 95555-2222");
+        long deleted = create("Delta Removido", "removido@email.com", "+55 21 95555-3333");
+
+        JsonNode initial = delta(null, 100);
+        assertEquals(List.of(unchanged, updated, deleted), ids(initial.get("users")));
+        assertEquals(0, initial.get("deletedIds").size());
+        assertFalse(initial.get("hasMore").asBoolean());
+
+        long created = create("Delta Novo", "novo.delta@email.com", "+55 21 95555-4444");
+        rename(updated, "Delta Renomeado");
+        mockMvc.perform(delete("/api/users/" + deleted)).andExpect(status().isNoContent());
+
+        JsonNode changes = delta(initial.get("nextToken").asText(), 100);
+        assertEquals(List.of(created, updated), ids(changes.get("users")));
+        assertEquals("Delta Renomeado", changes.get("users").get(1).get("fullName").asText());
+        assertEquals(List.of(deleted), ids(changes.get("deletedIds")));
+        assertFalse(changes.get("hasMore").asBoolean());
+    }
+
+    @Test
+    void delta_WithoutChanges_ReturnsNothingAndAdvancesToken() throws Exception {
+        create("Delta Parado", "parado@email.com", "+55 21 95555-5555");
+        String token = delta(null, 100).get("nextToken").asText();
+
+        JsonNode empty = delta(token, 100);
+        assertEquals(0, empty.get("users").size());
+        assertEquals(0, empty.get("deletedIds").size());
+        assertNotEquals(token, empty.get("nextToken").asText());
+    }
+
+    @Test
+    void delta_PagesThroughChangesWithLimit() throws Exception {
+        String token = delta(null, 100).get("nextToken").asText();
+        long first = create("Pagina Um", "pagina1@email.com", "+55 21 95555-6666");
+        long second = create("Pagina Dois", "pagina2@email.com", "+55 21 95555-7777");
+        mockMvc.perform(delete("/api/users/" + first)).andExpect(status().isNoContent());
+
+        JsonNode page = delta(token, 2);
+        assertEquals(List.of(second), ids(page.get("users")));
+        assertEquals(List.of(first), ids(page.get("deletedIds")));
+        assertFalse(page.get("hasMore").asBoolean());
+
+        List<Long> seen = new ArrayList<>();
+        token = delta(null, 100).get("nextToken").asText();
+        long third = create("Pagina Tres", "pagina3@email.com", "+55 21 95555-8888");
+        rename(second, "Pagina Dois Alterada");
+        JsonNode next;
+        do {
+            next = delta(token, 1);
+            seen.addAll(ids(next.get("users")));
+            token = next.get("nextToken").asText();
+        } while (next.get("hasMore").asBoolean());
+        assertEquals(List.of(third, second), seen);
+    }
+
+    @Test
+    void update_RefreshesUpdatedAtAndKeepsCreatedAt() throws Exception {
+        long id = create("Auditoria", "auditoria@email.com", "+55 21 95555-9999");
+        JsonNode before = MAPPER.readTree(mockMvc.perform(get("/api/users/" + id)).andReturn().getResponse().getContentAsString());
+        assertEquals(before.get("createdAt"), before.get("updatedAt"));
+
+        rename(id, "Auditoria Alterada");
+
+        JsonNode after = MAPPER.readTree(mockMvc.perform(get("/api/users/" + id)).andReturn().getResponse().getContentAsString());
+        assertEquals(before.get("createdAt"), after.get("createdAt"));
+        assertTrue(Instant.parse(after.get("updatedAt").asText()).isAfter(Instant.parse(before.get("updatedAt").asText())));
+    }
+
+    @Test
+    void delta_InvalidToken_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users/delta").param("since", "não-é-token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.since").exists());
+    }
+
+    @Test
+    void delta_TokenOlderThanTombstoneRetention_ReturnsGone() throws Exception {
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1:0:0".getBytes(StandardCharsets.US_ASCII));
+
+        mockMvc.perform(get("/api/users/delta").param("since", token))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.status").value(410))
+                .andExpect(jsonPath("$.fieldErrors.since").exists());
+    }
+
+    private JsonNode delta(String since, int limit) throws Exception {
+        var request = get("/api/users/delta").param("limit", String.valueOf(limit));
+        if (since != null) {
+            request.param("since", since);
+        }
+        return MAPPER.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private long create(String fullName, String email, String phone) throws Exception {
+        String body = MAPPER.writeValueAsString(Map.of("fullName", fullName, "email", email, "phone", phone,
+                "birthDate", "1990-05-15", "userType", "VIEWER"));
+        String response = mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return MAPPER.readTree(response).get("id").asLong();
+    }
+
+    private void rename(long id, String fullName) throws Exception {
+        mockMvc.perform(patch("/api/users/" + id)
+                        .contentType("application/merge-patch+json")
+                        .content(MAPPER.writeValueAsString(Map.of("fullName", fullName))))
+                .andExpect(status().isOk());
+    }
+
+    private static List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        array.forEach(node -> ids.add(node.isObject() ? node.get("id").asLong() : node.asLong()));
+        return ids;
+    }
+}
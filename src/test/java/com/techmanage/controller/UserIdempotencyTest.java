@@ -0,0 +1,141 @@
+package com.techmanage.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techmanage.repository.UserRepository;
+
+/**
+ * POST /api/users com Idempotency-Key: retries e requisições simultâneas com a mesma chave criam um único usuário
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class UserIdempotencyTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void retryWithSameKey_ReturnsFirstResponse() throws Exception {
+        String body = userJson("idempotente@email.com", "+55 31 93333-1111");
+
+        ResponseEntity<String> first = post(body, "retry-1");
+        ResponseEntity<String> retry = post(body, "retry-1");
+
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertEquals("false", first.getHeaders().getFirst("Idempotent-Replayed"));
+        // Sem a chave, o retry seria um 400 de email duplicado
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("true", retry.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(MAPPER.readTree(first.getBody()), MAPPER.readTree(retry.getBody()));
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void concurrentRequestsWithSameKey_CreateOneUser() throws Exception {
+        String body = userJson("simultaneo@email.com", "+55 31 93333-2222");
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<String>>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                Callable<ResponseEntity<String>> request = () -> {
+                    start.await();
+                    return post(body, "simultaneo-1");
+                };
+                responses.add(executor.submit(request));
+            }
+            start.countDown();
+
+            Long id = null;
+            for (Future<ResponseEntity<String>> response : responses) {
+                ResponseEntity<String> result = response.get(30, TimeUnit.SECONDS);
+                assertEquals(HttpStatus.CREATED, result.getStatusCode());
+                long createdId = MAPPER.readTree(result.getBody()).get("id").asLong();
+                if (id == null) {
+                    id = createdId;
+                }
+                assertEquals(id, createdId);
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void sameKeyWithOtherBody_ReturnsUnprocessableEntity() throws Exception {
+        post(userJson("primeiro@email.com", "+55 31 93333-3333"), "reuso-1");
+
+        ResponseEntity<String> response = post(userJson("segundo@email.com", "+55 31 93333-4444"), "reuso-1");
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        JsonNode error = MAPPER.readTree(response.getBody());
+        assertEquals(422, error.get("status").asInt());
+        assertTrue(error.get("fieldErrors").has("Idempotency-Key"));
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void failedRequest_IsNotStored() throws Exception {
+        post(userJson("existente@email.com", "+55 31 93333-5555"), null);
+
+        ResponseEntity<String> duplicate = post(userJson("existente@email.com", "+55 31 93333-5555"), "falha-1");
+        assertEquals(HttpStatus.BAD_REQUEST, duplicate.getStatusCode());
+
+        userRepository.deleteAllInBatch();
+        ResponseEntity<String> retry = post(userJson("existente@email.com", "+55 31 93333-5555"), "falha-1");
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("false", retry.getHeaders().getFirst("Idempotent-Replayed"));
+    }
+
+    private ResponseEntity<String> post(String body, String idempotencyKey) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (idempotencyKey != null) {
+            headers.set("Idempotency-Key", idempotencyKey);
+        }
+        return restTemplate.postForEntity("/api/users", new HttpEntity<>(body, headers), String.class);
+    }
+
+    private static String userJson(String email, String phone) throws Exception {
+        return MAPPER.writeValueAsString(Map.of("fullName", "Cliente Idempotente", "email", email, "phone", phone,
+                "birthDate", "1990-05-15", "userType", "VIEWER"));
+    }
+}
@@ -112,7 +112,7 @@ class UserTest {
         user.setAddress("Rua Teste, 123");
 
 
-        String expected = "User{id=1, fullName='João Silva', email='joao@email.com', phone='+5511999999999', birthDate=1990-05-15, userType=ADMIN, address='Rua Teste, 123'}";
+        String expected = "User{id=1, fullName='João Silva', email='joao@email.com', phone='+55 11 99999-9999', birthDate=1990-05-15, userType=ADMIN, address='Rua Teste, 123'}";
         assertEquals(expected, user.toString());
 
     }
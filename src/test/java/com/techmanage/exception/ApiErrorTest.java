@@ -0,0 +1,64 @@
+package com.techmanage.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ApiError class
+ */
+class ApiErrorTest {
+
+    @Test
+    void badRequest_shouldSetValidationErrorParts() {
+        // Given
+        Map<String, String> fieldErrors = Map.of("email", "Email já está em uso");
+
+        // When
+        ApiError error = ApiError.badRequest("/api/users", fieldErrors);
+
+        // Then
+        assertEquals(400, error.getStatus());
+        assertEquals("Erro de validação", error.getError());
+        assertEquals("/api/users", error.getPath());
+        assertSame(fieldErrors, error.getFieldErrors());
+        assertNotNull(error.getTimestamp());
+    }
+
+    @Test
+    void notFound_shouldSetNotFoundParts() {
+        // When
+        ApiError error = ApiError.notFound("/api/users/1", Map.of("id", "Usuário não encontrado com ID: 1"));
+
+        // Then
+        assertEquals(404, error.getStatus());
+        assertEquals("Recurso não encontrado", error.getError());
+    }
+
+    @Test
+    void timestamp_shouldBeIsoLocalDateTimeWithSecondResolution() {
+        // Given
+        LocalDateTime before = LocalDateTime.now().withNano(0);
+
+        // When
+        LocalDateTime timestamp = LocalDateTime.parse(ApiError.badRequest("/api/users", Map.of()).getTimestamp());
+
+        // Then
+        assertEquals(0, timestamp.getNano());
+        assertFalse(timestamp.isBefore(before));
+        assertFalse(timestamp.isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void timestamp_shouldBeReusedWithinTheSameSecond() {
+        // When
+        String first = ApiError.currentTimestamp();
+        String second = ApiError.currentTimestamp();
+
+        // Then - mesma instância, exceto se a virada de segundo cair entre as chamadas
+        assertTrue(first == second || !first.equals(second));
+    }
+}
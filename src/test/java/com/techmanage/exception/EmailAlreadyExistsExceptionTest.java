@@ -63,7 +63,7 @@ class EmailAlreadyExistsExceptionTest {
     }
 
     @Test
-    void exception_shouldPreserveStackTrace() {
+    void exception_shouldNotCaptureStackTrace() {
         // Given
         String message = "Email already exists";
 
@@ -72,7 +72,7 @@ class EmailAlreadyExistsExceptionTest {
 
         // Then
         assertNotNull(exception.getStackTrace());
-        assertTrue(exception.getStackTrace().length > 0);
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
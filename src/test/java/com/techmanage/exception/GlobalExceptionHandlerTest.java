@@ -8,11 +8,16 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.mock.http.MockHttpInputMessage;
 import org.springframework.mock.web.MockHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
 import java.util.Map;
 
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.techmanage.entity.UserType;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -35,20 +40,19 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/123");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleUserNotFoundException(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleUserNotFoundException(exception, request);
 
         // Then
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
-        assertEquals(404, body.get("status"));
-        assertEquals("Recurso não encontrado", body.get("error"));
-        assertNotNull(body.get("timestamp"));
-        assertEquals("/api/user/123", body.get("path"));
+        ApiError body = response.getBody();
+        assertEquals(404, body.getStatus());
+        assertEquals("Recurso não encontrado", body.getError());
+        assertNotNull(body.getTimestamp());
+        assertEquals("/api/user/123", body.getPath());
 
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertNotNull(fieldErrors);
         assertEquals("Usuário não encontrado com ID: 123", fieldErrors.get("id"));
     }
@@ -61,14 +65,13 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/999");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleUserNotFoundException(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleUserNotFoundException(exception, request);
 
         // Then
-        Map<String, Object> body = response.getBody();
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        ApiError body = response.getBody();
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertEquals("Usuário não encontrado com ID: 999", fieldErrors.get("id"));
-        assertEquals("/api/user/999", body.get("path"));
+        assertEquals("/api/user/999", body.getPath());
     }
 
     @Test
@@ -79,14 +82,28 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("GET", "/api/user");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleUserNotFoundException(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleUserNotFoundException(exception, request);
 
         // Then
-        Map<String, Object> body = response.getBody();
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        ApiError body = response.getBody();
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertEquals("Usuário não encontrado com ID: unknown", fieldErrors.get("id"));
-        assertEquals("/api/user", body.get("path"));
+        assertEquals("/api/user", body.getPath());
+    }
+
+    @Test
+    void handleUserNotFoundException_shouldUseStructuredId() {
+        // Given
+        UserNotFoundException exception = new UserNotFoundException(42L);
+        HttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/42");
+
+        // When
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleUserNotFoundException(exception, request);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Usuário não encontrado com ID: 42", response.getBody().getFieldErrors().get("id"));
+        assertEquals("/api/users/42", response.getBody().getPath());
     }
 
     @Test
@@ -97,20 +114,19 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("POST", "/api/user");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleEmailAlreadyExistsException(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleEmailAlreadyExistsException(exception, request);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
-        assertEquals(400, body.get("status"));
-        assertEquals("Erro de validação", body.get("error"));
-        assertNotNull(body.get("timestamp"));
-        assertEquals("/api/user", body.get("path"));
+        ApiError body = response.getBody();
+        assertEquals(400, body.getStatus());
+        assertEquals("Erro de validação", body.getError());
+        assertNotNull(body.getTimestamp());
+        assertEquals("/api/user", body.getPath());
 
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertNotNull(fieldErrors);
         assertEquals("Email já está em uso", fieldErrors.get("email"));
     }
@@ -123,20 +139,19 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("POST", "/api/user");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handlePhoneAlreadyExistsException(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handlePhoneAlreadyExistsException(exception, request);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
-        assertEquals(400, body.get("status"));
-        assertEquals("Erro de validação", body.get("error"));
-        assertNotNull(body.get("timestamp"));
-        assertEquals("/api/user", body.get("path"));
+        ApiError body = response.getBody();
+        assertEquals(400, body.getStatus());
+        assertEquals("Erro de validação", body.getError());
+        assertNotNull(body.getTimestamp());
+        assertEquals("/api/user", body.getPath());
 
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertNotNull(fieldErrors);
         assertEquals("Telefone já está em uso", fieldErrors.get("phone"));
     }
@@ -152,20 +167,19 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("POST", "/api/user");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleValidationException(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleValidationException(exception, request);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
-        assertEquals(400, body.get("status"));
-        assertEquals("Erro de validação", body.get("error"));
-        assertNotNull(body.get("timestamp"));
-        assertEquals("/api/user", body.get("path"));
+        ApiError body = response.getBody();
+        assertEquals(400, body.getStatus());
+        assertEquals("Erro de validação", body.getError());
+        assertNotNull(body.getTimestamp());
+        assertEquals("/api/user", body.getPath());
 
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertNotNull(fieldErrors);
         assertEquals("Nome completo é obrigatório", fieldErrors.get("fullName"));
         assertEquals("Email deve ter um formato válido", fieldErrors.get("email"));
@@ -179,24 +193,41 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("POST", "/api/user");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleInvalidEnumValue(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleInvalidEnumValue(exception, request);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
-        assertEquals(400, body.get("status"));
-        assertEquals("Erro de validação", body.get("error"));
-        assertNotNull(body.get("timestamp"));
-        assertEquals("/api/user", body.get("path"));
+        ApiError body = response.getBody();
+        assertEquals(400, body.getStatus());
+        assertEquals("Erro de validação", body.getError());
+        assertNotNull(body.getTimestamp());
+        assertEquals("/api/user", body.getPath());
 
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertNotNull(fieldErrors);
         assertEquals("Tipo de usuário inválido. Valores aceitos: ADMIN, EDITOR, VIEWER", fieldErrors.get("userType"));
     }
 
+    @Test
+    void handleInvalidEnumValue_withJacksonCause_shouldUseTargetType() {
+        // Given - Jackson informa o tipo alvo; a mensagem não é examinada
+        HttpMessageNotReadableException invalidUserType = new HttpMessageNotReadableException("JSON parse error",
+                InvalidFormatException.from(null, "invalid", "INVALID_TYPE", UserType.class), new MockHttpInputMessage(new byte[0]));
+        HttpMessageNotReadableException invalidDate = new HttpMessageNotReadableException("JSON parse error: UserType",
+                InvalidFormatException.from(null, "invalid", "31/02/1990", LocalDate.class), new MockHttpInputMessage(new byte[0]));
+        HttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+
+        // When
+        ApiError userTypeBody = globalExceptionHandler.handleInvalidEnumValue(invalidUserType, request).getBody();
+        ApiError dateBody = globalExceptionHandler.handleInvalidEnumValue(invalidDate, request).getBody();
+
+        // Then
+        assertEquals("Tipo de usuário inválido. Valores aceitos: ADMIN, EDITOR, VIEWER", userTypeBody.getFieldErrors().get("userType"));
+        assertEquals("Formato JSON inválido", dateBody.getFieldErrors().get("request"));
+    }
+
     @Test
     void handleInvalidEnumValue_withoutUserType_shouldReturnBadRequest() {
         // Given - Simulate HttpMessageNotReadableException without UserType
@@ -205,20 +236,19 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("POST", "/api/user");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleInvalidEnumValue(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleInvalidEnumValue(exception, request);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> body = response.getBody();
-        assertEquals(400, body.get("status"));
-        assertEquals("Erro de validação", body.get("error"));
-        assertNotNull(body.get("timestamp"));
-        assertEquals("/api/user", body.get("path"));
+        ApiError body = response.getBody();
+        assertEquals(400, body.getStatus());
+        assertEquals("Erro de validação", body.getError());
+        assertNotNull(body.getTimestamp());
+        assertEquals("/api/user", body.getPath());
 
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertNotNull(fieldErrors);
         assertEquals("Formato JSON inválido", fieldErrors.get("request"));
     }
@@ -250,15 +280,14 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("GET", "/api/user");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleUserNotFoundException(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleUserNotFoundException(exception, request);
 
         // Then
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        ApiError body = response.getBody();
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertEquals("Usuário não encontrado com ID: unknown", fieldErrors.get("id"));
-        assertEquals("/api/user", body.get("path"));
+        assertEquals("/api/user", body.getPath());
     }
 
     @Test
@@ -268,15 +297,14 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("POST", "/api/user");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleEmailAlreadyExistsException(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleEmailAlreadyExistsException(exception, request);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        ApiError body = response.getBody();
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertEquals("Email já está em uso", fieldErrors.get("email"));
-        assertEquals("/api/user", body.get("path"));
+        assertEquals("/api/user", body.getPath());
     }
 
     @Test
@@ -286,15 +314,14 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("POST", "/api/user");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handlePhoneAlreadyExistsException(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handlePhoneAlreadyExistsException(exception, request);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        ApiError body = response.getBody();
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertEquals("Telefone já está em uso", fieldErrors.get("phone"));
-        assertEquals("/api/user", body.get("path"));
+        assertEquals("/api/user", body.getPath());
     }
 
     @Test
@@ -305,14 +332,13 @@ class GlobalExceptionHandlerTest {
         HttpServletRequest request = new MockHttpServletRequest("POST", "/api/user");
 
         // When
-        ResponseEntity<Map<String, Object>> response = globalExceptionHandler.handleValidationException(exception, request);
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleValidationException(exception, request);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
-        @SuppressWarnings("unchecked")
-        Map<String, String> fieldErrors = (Map<String, String>) body.get("fieldErrors");
+        ApiError body = response.getBody();
+        Map<String, String> fieldErrors = body.getFieldErrors();
         assertTrue(fieldErrors.isEmpty());
-        assertEquals("/api/user", body.get("path"));
+        assertEquals("/api/user", body.getPath());
     }
 }
\ No newline at end of file
@@ -63,7 +63,7 @@ class PhoneAlreadyExistsExceptionTest {
     }
 
     @Test
-    void exception_shouldPreserveStackTrace() {
+    void exception_shouldNotCaptureStackTrace() {
         // Given
         String message = "Phone already exists";
 
@@ -72,7 +72,7 @@ class PhoneAlreadyExistsExceptionTest {
 
         // Then
         assertNotNull(exception.getStackTrace());
-        assertTrue(exception.getStackTrace().length > 0);
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
@@ -102,7 +102,7 @@ class PhoneAlreadyExistsExceptionTest {
     @Test
     void constructor_shouldHandleLongMessage() {
         // Given
-        String longMessage = "Phone already exists: " + new String(new char[100]).replace('\0', '+').replace('+', '+55 11 ') + "99999-9999";
+        String longMessage = "Phone already exists: " + new String(new char[100]).replace('\0', '+').replace("+", "+55 11 ") + "99999-9999";
         longMessage = "Phone already exists: " + new String(new char[700]).replace('\0', 'X'); // Simplified for Java 8
 
         // When
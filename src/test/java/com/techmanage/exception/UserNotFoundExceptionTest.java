@@ -21,6 +21,27 @@ class UserNotFoundExceptionTest {
         assertEquals(message, exception.getMessage());
     }
 
+    @Test
+    void constructor_withId_shouldExposeIdAndBuildMessage() {
+        // When
+        UserNotFoundException exception = new UserNotFoundException(123L);
+
+        // Then
+        assertEquals(123L, exception.getId());
+        assertEquals("id", exception.getField());
+        assertEquals("Usuário não encontrado com ID: 123", exception.getMessage());
+    }
+
+    @Test
+    void constructor_withMessage_shouldParseId() {
+        // When
+        UserNotFoundException exception = new UserNotFoundException("User not found with ID: 123");
+
+        // Then
+        assertEquals(123L, exception.getId());
+        assertNull(new UserNotFoundException("User not found").getId());
+    }
+
     @Test
     void constructor_shouldHandleNullMessage() {
         // When
@@ -63,7 +84,7 @@ class UserNotFoundExceptionTest {
     }
 
     @Test
-    void exception_shouldPreserveStackTrace() {
+    void exception_shouldNotCaptureStackTrace() {
         // Given
         String message = "User not found";
 
@@ -72,7 +93,7 @@ class UserNotFoundExceptionTest {
 
         // Then
         assertNotNull(exception.getStackTrace());
-        assertTrue(exception.getStackTrace().length > 0);
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
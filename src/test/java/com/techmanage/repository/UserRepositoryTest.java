@@ -2,23 +2,29 @@ package com.techmanage.repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.techmanage.config.CacheConfig;
 import com.techmanage.entity.User;
 import com.techmanage.entity.UserType;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(CacheConfig.class)
 class UserRepositoryTest {
 
     @Autowired
@@ -28,7 +34,7 @@ class UserRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        userRepository.deleteAll();
+        userRepository.deleteAllInBatch();
         testUser = new User("João Silva", "joao@email.com", "+5511999999999",
                           LocalDate.of(1990, 5, 15), UserType.ADMIN, "Rua Teste, 123");
     }
@@ -41,7 +47,7 @@ class UserRepositoryTest {
         assertNotNull(savedUser.getId());
         assertEquals("João Silva", savedUser.getFullName());
         assertEquals("joao@email.com", savedUser.getEmail());
-        assertEquals("+5511999999999", savedUser.getPhone());
+        assertEquals("+55 11 99999-9999", savedUser.getPhone());
         assertEquals(LocalDate.of(1990, 5, 15), savedUser.getBirthDate());
         assertEquals(UserType.ADMIN, savedUser.getUserType());
         assertEquals("Rua Teste, 123", savedUser.getAddress());
@@ -158,4 +164,41 @@ class UserRepositoryTest {
         assertEquals(0, userRepository.count());
         assertTrue(userRepository.findAll().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDuplicateEmailViolatesNamedConstraint() {
+        userRepository.saveAndFlush(new User("Ana Lima", "ana@email.com", "+55 11 91234-5678",
+                            LocalDate.of(1992, 4, 1), UserType.VIEWER, "Rua Teste, 123"));
+
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class, () ->
+                userRepository.saveAndFlush(new User("Ana Souza", "ana@email.com", "+55 11 90000-0000",
+                            LocalDate.of(1993, 6, 2), UserType.EDITOR, "Rua Teste, 456")));
+
+        assertTrue(ex.getMostSpecificCause().getMessage().toLowerCase().contains(User.EMAIL_UNIQUE_CONSTRAINT));
+    }
+
+    @Test
+    void testDuplicatePhoneViolatesNamedConstraint() {
+        userRepository.saveAndFlush(new User("Ana Lima", "ana@email.com", "+55 11 91234-5678",
+                            LocalDate.of(1992, 4, 1), UserType.VIEWER, "Rua Teste, 123"));
+
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class, () ->
+                userRepository.saveAndFlush(new User("Ana Souza", "ana.souza@email.com", "+55 11 91234-5678",
+                            LocalDate.of(1993, 6, 2), UserType.EDITOR, "Rua Teste, 456")));
+
+        assertTrue(ex.getMostSpecificCause().getMessage().toLowerCase().contains(User.PHONE_UNIQUE_CONSTRAINT));
+    }
+
+    @Test
+    void testFindAllProjectedSelectsOnlyRequestedProperties() {
+        User savedUser = userRepository.save(testUser);
+
+        List<Map<String, Object>> rows = userRepository.findAllProjected(List.of("id", "email", "userType"));
+
+        assertEquals(1, rows.size());
+        assertEquals(List.of("id", "email", "userType"), List.copyOf(rows.get(0).keySet()));
+        assertEquals(savedUser.getId(), rows.get(0).get("id"));
+        assertEquals("joao@email.com", rows.get(0).get("email"));
+        assertEquals(UserType.ADMIN, rows.get(0).get("userType"));
+    }
+}
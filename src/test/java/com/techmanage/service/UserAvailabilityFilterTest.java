@@ -0,0 +1,102 @@
+package com.techmanage.service;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserAvailabilityFilterTest {
+
+    private static final int USERS = 10_000;
+
+    @Test
+    void mightContain_NoFalseNegatives() {
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(USERS, 0.01);
+        for (int i = 0; i < USERS; i++) {
+            filter.put(user(i));
+        }
+
+        for (int i = 0; i < USERS; i++) {
+            assertTrue(filter.mightContainEmail("user" + i + "@email.com"));
+            assertTrue(filter.mightContainPhone(phone(i)));
+        }
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateNearConfigured() {
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(USERS, 0.01);
+        for (int i = 0; i < USERS; i++) {
+            filter.put(user(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = USERS; i < USERS * 11; i++) {
+            if (filter.mightContainEmail("user" + i + "@email.com")) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < USERS * 10 * 0.02, "falsos positivos: " + falsePositives);
+        assertTrue(filter.getEstimatedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void mightContainPhone_NormalizesUnformattedPhone() {
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(USERS, 0.01);
+        filter.put(user(1));
+
+        assertTrue(filter.mightContainPhone("+5511900010001"));
+    }
+
+    @Test
+    void rebuild_KeepsConcurrentWritesAndReplacesContent() {
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(USERS, 0.01);
+        filter.put(user(1));
+
+        UserAvailabilityFilter.Rebuild rebuild = filter.rebuild(1);
+        rebuild.add(user(2));
+        filter.put(user(3));
+        rebuild.publish();
+
+        assertFalse(filter.mightContainEmail("user1@email.com"));
+        assertTrue(filter.mightContainEmail("user2@email.com"));
+        assertTrue(filter.mightContainEmail("user3@email.com"));
+    }
+
+    @Test
+    void bindTo_ExposesLookupsMemoryAndFalsePositiveRate() {
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(USERS, 0.01);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+
+        filter.record(UserAvailabilityFilter.Field.EMAIL, UserAvailabilityFilter.Outcome.FILTER_NEGATIVE);
+        filter.record(UserAvailabilityFilter.Field.EMAIL, UserAvailabilityFilter.Outcome.FILTER_NEGATIVE);
+        filter.record(UserAvailabilityFilter.Field.EMAIL, UserAvailabilityFilter.Outcome.FILTER_NEGATIVE);
+        filter.record(UserAvailabilityFilter.Field.PHONE, UserAvailabilityFilter.Outcome.FALSE_POSITIVE);
+        filter.record(UserAvailabilityFilter.Field.PHONE, UserAvailabilityFilter.Outcome.TAKEN);
+
+        assertEquals(3, registry.get("techmanage.availability.lookups")
+                .tags("field", "email", "outcome", "filter_negative").functionCounter().count());
+        assertEquals(1, registry.get("techmanage.availability.lookups")
+                .tags("field", "phone", "outcome", "taken").functionCounter().count());
+        assertEquals(0.25, registry.get("techmanage.availability.filter.false.positive.rate.observed").gauge().value());
+        assertEquals(filter.getMemoryBytes(), registry.get("techmanage.availability.filter.memory").gauge().value());
+        assertTrue(filter.getMemoryBytes() > 0);
+    }
+
+    private static User user(int i) {
+        return new User("Usuário " + i, "user" + i + "@email.com", phone(i),
+                LocalDate.of(1990, 1, 1), UserType.VIEWER, null);
+    }
+
+    private static String phone(int i) {
+        return String.format("+55 11 9%04d-%04d", i, i);
+    }
+}
@@ -0,0 +1,242 @@
+package com.techmanage.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.techmanage.entity.UserChange;
+import com.techmanage.exception.ChangeFeedFullException;
+import com.techmanage.repository.UserChangeRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class UserChangeFeedTest {
+
+    private static final int BUFFER_SIZE = 16;
+    private static final int MAX_SUBSCRIBERS = 2;
+
+    @Mock
+    private UserChangeRepository changeRepository;
+
+    @InjectMocks
+    private UserChangeFeed feed = new UserChangeFeed(BUFFER_SIZE, Duration.ofMillis(50), Duration.ofDays(7),
+            MAX_SUBSCRIBERS, "platform");
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        feed.destroy();
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void stream_DeliversPublishedChangesInOrder() throws Exception {
+        RecordingSubscriber subscriber = subscribe(null);
+
+        feed.publish(changes(1, 3));
+        feed.publish(change(4));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), subscriber.take(4));
+    }
+
+    @Test
+    void stream_WithLastEventId_ReplaysOutboxThenGoesLive() throws Exception {
+        List<UserChange> outbox = changes(3, 5);
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class))).thenReturn(outbox);
+        feed.publish(changes(1, 5));
+
+        RecordingSubscriber subscriber = subscribe(2L);
+        assertEquals(List.of(3L, 4L, 5L), subscriber.take(3));
+
+        feed.publish(change(6));
+        assertEquals(List.of(6L), subscriber.take(1));
+    }
+
+    @Test
+    void stream_SkipsRingEventsAlreadyReplayedFromOutbox() throws Exception {
+        // Commit concorrente com a leitura do outbox: 3 sai pelo outbox e também aparece no ring
+        UserChange third = change(3);
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class))).thenAnswer(invocation -> {
+            feed.publish(third);
+            return List.of(third);
+        });
+
+        RecordingSubscriber subscriber = subscribe(2L);
+        feed.publish(change(4));
+
+        assertEquals(List.of(3L, 4L), subscriber.take(2));
+        assertTrue(subscriber.nothingMore());
+    }
+
+    @Test
+    void publish_IsNotHeldUpBySlowSubscriber() throws Exception {
+        List<UserChange> outbox = changes(2, 10 * BUFFER_SIZE);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSubscriber slow = subscribe(null, release);
+        feed.publish(change(1));
+        slow.awaitBlocked();
+
+        // Muito mais eventos que o ring comporta enquanto o assinante está parado na escrita
+        Future<?> writer = executor.submit(() -> LongStream.rangeClosed(2, 10 * BUFFER_SIZE)
+                .forEach(id -> feed.publish(change(id))));
+        writer.get(5, TimeUnit.SECONDS);
+
+        // Depois de liberado, o assinante retoma pelo outbox a partir do último id entregue
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), any(Pageable.class))).thenReturn(outbox);
+        release.countDown();
+
+        List<Long> ids = slow.take(10 * BUFFER_SIZE);
+        assertEquals(LongStream.rangeClosed(1, 10 * BUFFER_SIZE).boxed().collect(Collectors.toList()), ids);
+        verify(changeRepository).findByIdGreaterThanOrderByIdAsc(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void stream_SendsHeartbeatWhenIdleAndEndsOnShutdown() throws Exception {
+        RecordingSubscriber subscriber = subscribe(null);
+
+        feed.destroy();
+        subscriber.future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void subscribe_BeyondMaxSubscribers_IsRejected() throws Exception {
+        RecordingSubscriber first = subscribe(null);
+        RecordingSubscriber second = subscribe(null);
+
+        assertThrows(ChangeFeedFullException.class, () -> feed.subscribe(null, new RecordingSubscriber(null)));
+        assertEquals(MAX_SUBSCRIBERS, feed.getSubscribers());
+
+        feed.destroy();
+        first.future.get(10, TimeUnit.SECONDS);
+        second.future.get(10, TimeUnit.SECONDS);
+        assertEquals(0, feed.getSubscribers());
+    }
+
+    @Test
+    void bindTo_ExposesPublishedReplayedAndSubscribers() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        feed.bindTo(registry);
+        List<UserChange> outbox = changes(1, 2);
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(outbox);
+
+        RecordingSubscriber subscriber = subscribe(0L);
+        subscriber.take(2);
+        feed.publish(change(3));
+        subscriber.take(1);
+
+        assertEquals(1.0, registry.get("techmanage.user.changes.events").tag("source", "published").functionCounter().count());
+        assertEquals(2.0, registry.get("techmanage.user.changes.events").tag("source", "replayed").functionCounter().count());
+        assertEquals(1.0, registry.get("techmanage.user.changes.subscribers").gauge().value());
+        assertNotNull(registry.get("techmanage.user.changes.overflows").functionCounter());
+        assertNotNull(registry.get("techmanage.user.changes.rejected").functionCounter());
+    }
+
+    private RecordingSubscriber subscribe(Long lastEventId) throws InterruptedException {
+        return subscribe(lastEventId, null);
+    }
+
+    // Só retorna depois do primeiro heartbeat: o assinante já está esperando eventos no ring
+    private RecordingSubscriber subscribe(Long lastEventId, CountDownLatch release) throws InterruptedException {
+        if (lastEventId == null) {
+            lenient().when(changeRepository.findTopByOrderByIdDesc()).thenReturn(Optional.empty());
+        }
+        RecordingSubscriber subscriber = new RecordingSubscriber(release);
+        subscriber.future = feed.subscribe(lastEventId, subscriber);
+        assertTrue(subscriber.idle.await(10, TimeUnit.SECONDS));
+        return subscriber;
+    }
+
+    private static List<UserChange> changes(long from, long to) {
+        List<UserChange> changes = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            changes.add(change(id));
+        }
+        return changes;
+    }
+
+    private static UserChange change(long id) {
+        UserChange change = mock(UserChange.class);
+        lenient().when(change.getId()).thenReturn(id);
+        return change;
+    }
+
+    private static class RecordingSubscriber implements UserChangeFeed.Subscriber {
+        private final BlockingQueue<Long> ids = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch idle = new CountDownLatch(1);
+        private Future<?> future;
+
+        RecordingSubscriber(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onChanges(List<UserChange> changes) throws IOException {
+            changes.forEach(change -> ids.add(change.getId()));
+            if (release != null) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    throw new IOException(ex);
+                }
+            }
+        }
+
+        @Override
+        public void onIdle() {
+            idle.countDown();
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        }
+
+        List<Long> take(int count) throws InterruptedException {
+            List<Long> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Long id = ids.poll(10, TimeUnit.SECONDS);
+                assertNotNull(id, () -> "Recebidos até aqui: " + taken);
+                taken.add(id);
+            }
+            return taken;
+        }
+
+        boolean nothingMore() throws InterruptedException {
+            return ids.poll(200, TimeUnit.MILLISECONDS) == null;
+        }
+    }
+}
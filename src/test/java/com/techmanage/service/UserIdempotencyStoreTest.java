@@ -0,0 +1,288 @@
+package com.techmanage.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techmanage.entity.IdempotencyRecord;
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.exception.EmailAlreadyExistsException;
+import com.techmanage.exception.IdempotencyKeyInProgressException;
+import com.techmanage.exception.IdempotencyKeyReusedException;
+import com.techmanage.exception.UserValidationException;
+import com.techmanage.repository.IdempotencyRecordRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserIdempotencyStoreTest {
+
+    private static final int THREADS = 16;
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private UserIdempotencyStore store;
+    private ExecutorService executor;
+    private CountDownLatch release;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        store = store(Duration.ofSeconds(10), false);
+        executor = Executors.newFixedThreadPool(THREADS);
+        release = new CountDownLatch(1);
+        executions = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_SameKeyAgain_ReplaysWithoutExecuting() {
+        User created = created(1L);
+
+        UserIdempotencyStore.Response first = store.execute("chave-1", request("a@email.com"), counting(() -> created));
+        UserIdempotencyStore.Response retry = store.execute("chave-1", request("a@email.com"), counting(() -> created(2L)));
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertSame(created, retry.user());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_ConcurrentRequestsWithSameKey_ExecuteOnce() throws Exception {
+        User created = created(1L);
+        List<Future<UserIdempotencyStore.Response>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> store.execute("chave-1", request("a@email.com"), counting(() -> {
+                await(release);
+                return created;
+            }))));
+        }
+        awaitCoalesced(THREADS - 1);
+        release.countDown();
+
+        for (Future<UserIdempotencyStore.Response> result : results) {
+            assertSame(created, result.get(10, TimeUnit.SECONDS).user());
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, store.getExecuted());
+        assertEquals(THREADS - 1, store.getCoalesced());
+    }
+
+    @Test
+    void execute_SameKeyWithOtherBody_IsRejected() {
+        store.execute("chave-1", request("a@email.com"), () -> created(1L));
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> store.execute("chave-1", request("b@email.com"), counting(() -> created(2L))));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void execute_FailureIsNotStored() {
+        assertThrows(EmailAlreadyExistsException.class, () -> store.execute("chave-1", request("a@email.com"), () -> {
+            throw new EmailAlreadyExistsException();
+        }));
+
+        UserIdempotencyStore.Response retry = store.execute("chave-1", request("a@email.com"), counting(() -> created(1L)));
+
+        assertFalse(retry.replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_InFlightLongerThanWaitTimeout_ThrowsInProgress() throws Exception {
+        store = store(Duration.ofMillis(50), false);
+        Future<UserIdempotencyStore.Response> first = executor.submit(() -> store.execute("chave-1", request("a@email.com"), () -> {
+            await(release);
+            return created(1L);
+        }));
+        while (store.getExecuted() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> store.execute("chave-1", request("a@email.com"), counting(() -> created(2L))));
+        release.countDown();
+        assertFalse(first.get(10, TimeUnit.SECONDS).replayed());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void execute_InFlightWithOtherBody_IsRejectedEvenIfOriginalFails() throws Exception {
+        Future<UserIdempotencyStore.Response> first = executor.submit(() -> store.execute("chave-1", request("a@email.com"), () -> {
+            await(release);
+            throw new EmailAlreadyExistsException();
+        }));
+        while (store.getExecuted() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> store.execute("chave-1", request("b@email.com"), counting(() -> created(2L))));
+        release.countDown();
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof EmailAlreadyExistsException);
+        assertEquals(0, store.getCoalesced());
+    }
+
+    @Test
+    void execute_InvalidKey_IsRejected() {
+        assertThrows(UserValidationException.class, () -> store.execute(" ", request("a@email.com"), () -> created(1L)));
+        assertThrows(UserValidationException.class, () -> store.execute("x".repeat(UserIdempotencyStore.MAX_KEY_LENGTH + 1),
+                request("a@email.com"), () -> created(1L)));
+    }
+
+    @Test
+    void execute_Persistent_ReplaysFromTableAfterRestart() {
+        IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+        store = store(Duration.ofSeconds(10), true);
+        ReflectionTestUtils.setField(store, "recordRepository", repository);
+        User created = created(1L);
+        store.execute("chave-1", request("a@email.com"), () -> created);
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(repository).save(saved.capture());
+
+        // Nova instância (reinício): a memória está vazia e a resposta vem da tabela
+        UserIdempotencyStore restarted = store(Duration.ofSeconds(10), true);
+        ReflectionTestUtils.setField(restarted, "recordRepository", repository);
+        when(repository.findById("chave-1")).thenReturn(Optional.of(saved.getValue()));
+
+        UserIdempotencyStore.Response replay = restarted.execute("chave-1", request("a@email.com"), counting(() -> created(2L)));
+
+        assertTrue(replay.replayed());
+        assertEquals(1L, replay.user().getId());
+        assertEquals(created.getEmail(), replay.user().getEmail());
+        assertEquals(created.getCreatedAt(), replay.user().getCreatedAt());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void execute_Persistent_RowReadNearEndOfTtlExpiresWithIt() throws Exception {
+        IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+        store = store(Duration.ofSeconds(2), Duration.ofSeconds(10), true);
+        ReflectionTestUtils.setField(store, "recordRepository", repository);
+        store.execute("chave-1", request("a@email.com"), () -> created(1L));
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(repository).save(saved.capture());
+
+        // Linha gravada há 1,5s por outra instância: restam 0,5s do TTL de 2s
+        IdempotencyRecord old = new IdempotencyRecord("chave-1", saved.getValue().getRequestHash(),
+                saved.getValue().getResponseBody(), Instant.now().minusMillis(1500));
+        when(repository.findById("chave-1")).thenReturn(Optional.of(old));
+        UserIdempotencyStore other = store(Duration.ofSeconds(2), Duration.ofSeconds(10), true);
+        ReflectionTestUtils.setField(other, "recordRepository", repository);
+        assertTrue(other.execute("chave-1", request("a@email.com"), counting(() -> created(2L))).replayed());
+
+        Thread.sleep(800);
+
+        assertFalse(other.execute("chave-1", request("a@email.com"), counting(() -> created(2L))).replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void purgeExpired_OnlyWhenPersistent() {
+        IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+        ReflectionTestUtils.setField(store, "recordRepository", repository);
+        store.purgeExpired();
+
+        UserIdempotencyStore persistent = store(Duration.ofSeconds(10), true);
+        ReflectionTestUtils.setField(persistent, "recordRepository", repository);
+        persistent.purgeExpired();
+
+        verify(repository).deleteOlderThan(any(Instant.class));
+    }
+
+    @Test
+    void bindTo_ExposesRequestsByResultAndStoredSize() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        store.bindTo(registry);
+
+        store.execute("chave-1", request("a@email.com"), () -> created(1L));
+        store.execute("chave-1", request("a@email.com"), () -> created(1L));
+
+        assertEquals(1.0, registry.get("techmanage.user.idempotency.requests").tag("result", "executed").functionCounter().count());
+        assertEquals(1.0, registry.get("techmanage.user.idempotency.requests").tag("result", "replayed").functionCounter().count());
+        assertEquals(0.0, registry.get("techmanage.user.idempotency.requests").tag("result", "coalesced").functionCounter().count());
+        assertEquals(1.0, registry.get("techmanage.user.idempotency.stored").gauge().value());
+    }
+
+    private static UserIdempotencyStore store(Duration waitTimeout, boolean persistent) {
+        return store(Duration.ofHours(1), waitTimeout, persistent);
+    }
+
+    private static UserIdempotencyStore store(Duration ttl, Duration waitTimeout, boolean persistent) {
+        return new UserIdempotencyStore(MAPPER, 100, ttl, waitTimeout, persistent);
+    }
+
+    private Supplier<User> counting(Supplier<User> action) {
+        return () -> {
+            executions.incrementAndGet();
+            return action.get();
+        };
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (store.getCoalesced() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Requisições não chegaram à espera");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static User request(String email) {
+        return new User("Maria Souza", email, "+55 11 94444-1111", LocalDate.of(1990, 5, 15), UserType.EDITOR);
+    }
+
+    private static User created(long id) {
+        User user = request("a@email.com");
+        user.setId(id);
+        user.setVersion(0L);
+        user.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        user.setUpdatedAt(user.getCreatedAt());
+        return user;
+    }
+}
@@ -0,0 +1,170 @@
+package com.techmanage.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.exception.UserNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserLoadCoalescerTest {
+
+    private static final int THREADS = 16;
+
+    private UserLoadCoalescer coalescer;
+    private ExecutorService executor;
+    private CountDownLatch release;
+    private AtomicInteger loaderCalls;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new UserLoadCoalescer();
+        executor = Executors.newFixedThreadPool(THREADS + 1);
+        release = new CountDownLatch(1);
+        loaderCalls = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void load_ConcurrentBurstForSameId_LoadsOnce() throws Exception {
+        User user = user(1L);
+
+        List<Future<User>> results = burst(1L, blockingLoader(id -> user));
+        awaitCoalesced(THREADS - 1);
+        release.countDown();
+
+        for (Future<User> result : results) {
+            assertSame(user, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loaderCalls.get());
+        assertEquals(1, coalescer.getLoads());
+        assertEquals(THREADS - 1, coalescer.getCoalesced());
+    }
+
+    @Test
+    void load_OtherIdsAreNotBlockedByInFlightLoad() throws Exception {
+        List<Future<User>> blocked = burst(1L, blockingLoader(this::user));
+        awaitCoalesced(THREADS - 1);
+
+        User other = coalescer.load(2L, this::user);
+
+        assertEquals(2L, other.getId());
+        assertTrue(blocked.stream().noneMatch(Future::isDone));
+        release.countDown();
+        for (Future<User> result : blocked) {
+            assertEquals(1L, result.get(10, TimeUnit.SECONDS).getId());
+        }
+    }
+
+    @Test
+    void load_FailureIsSharedWithWaitingThreads() throws Exception {
+        List<Future<User>> results = burst(99L, blockingLoader(id -> {
+            throw new UserNotFoundException(id);
+        }));
+        awaitCoalesced(THREADS - 1);
+        release.countDown();
+
+        for (Future<User> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertEquals(UserNotFoundException.class, ex.getCause().getClass());
+        }
+        assertEquals(1, loaderCalls.get());
+    }
+
+    @Test
+    void load_NothingIsKeptAfterTheLoadCompletes() {
+        coalescer.load(1L, id -> {
+            loaderCalls.incrementAndGet();
+            return user(id);
+        });
+        coalescer.load(1L, id -> {
+            loaderCalls.incrementAndGet();
+            return user(id);
+        });
+
+        assertEquals(2, loaderCalls.get());
+        assertEquals(0, coalescer.getCoalesced());
+    }
+
+    @Test
+    void bindTo_ExposesLoadsCoalescedAndDedupRatio() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        coalescer.bindTo(registry);
+
+        List<Future<User>> results = burst(1L, blockingLoader(this::user));
+        awaitCoalesced(THREADS - 1);
+        release.countDown();
+        for (Future<User> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, registry.get("techmanage.user.load.requests").tag("result", "loaded")
+                .functionCounter().count());
+        assertEquals(THREADS - 1, registry.get("techmanage.user.load.requests").tag("result", "coalesced")
+                .functionCounter().count());
+        assertEquals((double) (THREADS - 1) / THREADS,
+                registry.get("techmanage.user.load.dedup.ratio").gauge().value(), 1e-9);
+    }
+
+    // Carga que só termina quando o teste libera, para que todas as threads da rajada a encontrem em andamento
+    private Function<Long, User> blockingLoader(Function<Long, User> result) {
+        return id -> {
+            loaderCalls.incrementAndGet();
+            try {
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+            return result.apply(id);
+        };
+    }
+
+    private List<Future<User>> burst(Long id, Function<Long, User> loader) {
+        List<Future<User>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> coalescer.load(id, loader)));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalescer.getCoalesced() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Threads não chegaram à carga em andamento");
+            Thread.sleep(1);
+        }
+    }
+
+    private User user(Long id) {
+        User user = new User("Usuário " + id, "usuario" + id + "@email.com", "+5511955550000",
+                LocalDate.of(1990, 1, 1), UserType.VIEWER);
+        user.setId(id);
+        return user;
+    }
+}
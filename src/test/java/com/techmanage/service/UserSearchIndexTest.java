@@ -0,0 +1,110 @@
+package com.techmanage.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.techmanage.dto.UserSearchResult;
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex();
+        index.put(user(1L, "João Ávila", "joao.avila@email.com"));
+        index.put(user(2L, "Maria Joana Souza", "maria@email.com"));
+        index.put(user(3L, "Carlos Lima", "carlos.lima@techmanage.com"));
+    }
+
+    @Test
+    void search_IgnoresCaseAndAccents() {
+        assertEquals(List.of(1L), ids(index.search("JOAO AVILA", 10)));
+        assertEquals(List.of(1L), ids(index.search("jOãO ávila", 10)));
+    }
+
+    @Test
+    void search_MatchesSubstringOfNameAndEmail() {
+        assertEquals(List.of(3L), ids(index.search("techmanage", 10)));
+        assertEquals(List.of(3L), ids(index.search("arlo", 10)));
+    }
+
+    @Test
+    void search_RanksNamePrefixThenWordPrefixThenSubstring() {
+        index.put(user(4L, "Ana Beatriz", "bia@email.com"));
+        index.put(user(5L, "Bruno Anastácio", "bruno@email.com"));
+        index.put(user(6L, "Diana Prado", "diana@email.com"));
+
+        // "joana" e "techmanage" contêm "ana" no meio da palavra: ficam por último, na ordem de inserção
+        assertEquals(List.of(4L, 5L, 2L, 3L, 6L), ids(index.search("ana", 10)));
+    }
+
+    @Test
+    void search_ShortTermMatchesWordPrefixesOnly() {
+        assertEquals(List.of(1L, 2L), ids(index.search("jo", 10)));
+        assertEquals(List.of(3L), ids(index.search("ca", 10)));
+        assertTrue(index.search("oa", 10).isEmpty());
+    }
+
+    @Test
+    void search_RespectsLimit() {
+        IntStream.range(10, 40).forEach(i -> index.put(user((long) i, "Usuário " + i, "usuario" + i + "@email.com")));
+
+        assertEquals(List.of(10L, 11L, 12L, 13L, 14L), ids(index.search("usuario", 5)));
+    }
+
+    @Test
+    void put_ReplacesPreviousValues() {
+        index.put(user(1L, "João Batista", "joao.batista@email.com"));
+
+        assertTrue(index.search("avila", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("batista", 10)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_HidesUserAndCompactsIndex() {
+        index.remove(2L);
+        assertTrue(index.search("maria", 10).isEmpty());
+
+        IntStream.range(10, 3000).forEach(i -> index.put(user((long) i, "Usuário " + i, "usuario" + i + "@email.com")));
+        IntStream.range(10, 2990).forEach(i -> index.remove((long) i));
+
+        assertEquals(12, index.size());
+        assertEquals(List.of(2990L, 2991L), ids(index.search("usuario 299", 2)));
+    }
+
+    @Test
+    void rebuild_ReplacesContent() {
+        index.rebuild(List.of(user(7L, "Paula Reis", "paula@email.com")).iterator());
+
+        assertEquals(1, index.size());
+        assertTrue(index.search("joao", 10).isEmpty());
+        assertEquals(List.of(7L), ids(index.search("reis", 10)));
+    }
+
+    @Test
+    void search_BlankTerm() {
+        assertTrue(index.search("   ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<UserSearchResult> results) {
+        return results.stream().map(UserSearchResult::getId).collect(Collectors.toList());
+    }
+
+    private static User user(Long id, String fullName, String email) {
+        User user = new User(fullName, email, "+55 11 99999-9999", LocalDate.of(1990, 1, 1), UserType.VIEWER, null);
+        user.setId(id);
+        return user;
+    }
+}
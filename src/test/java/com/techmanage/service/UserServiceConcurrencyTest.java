@@ -0,0 +1,154 @@
+package com.techmanage.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.exception.EmailAlreadyExistsException;
+import com.techmanage.exception.PhoneAlreadyExistsException;
+import com.techmanage.repository.UserRepository;
+
+/**
+ * Criações concorrentes com o mesmo email/telefone: exatamente uma vence, as demais recebem o erro de domínio.
+ * Leituras concorrentes do mesmo id: uma única ida ao banco por rajada
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createUser_ParallelDuplicateEmails_OnlyOneSucceeds() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            String email = "concorrente" + round + "@email.com";
+            int base = round * THREADS;
+            List<Future<User>> results = race(i -> createTask(new User("Usuário " + i, email, phoneFor(base + i),
+                    LocalDate.of(1990, 1, 1), UserType.VIEWER)));
+
+            assertOneWinner(results, EmailAlreadyExistsException.class);
+        }
+        assertEquals(ROUNDS, userRepository.count());
+    }
+
+    @Test
+    void createUser_ParallelDuplicatePhones_OnlyOneSucceeds() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            String phone = phoneFor(round);
+            int base = round * THREADS;
+            List<Future<User>> results = race(i -> createTask(new User("Usuário " + i,
+                    "usuario" + (base + i) + "@email.com", phone, LocalDate.of(1990, 1, 1), UserType.VIEWER)));
+
+            assertOneWinner(results, PhoneAlreadyExistsException.class);
+        }
+        assertEquals(ROUNDS, userRepository.count());
+    }
+
+    @Test
+    void getUserById_ParallelReadsOfUncachedUser_HitDatabaseOnce() throws Exception {
+        User saved = userService.createUser(new User("Usuário Popular", "popular@email.com", phoneFor(9999),
+                LocalDate.of(1990, 1, 1), UserType.VIEWER));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            // Sem o second-level cache cada thread iria ao banco; as que chegam durante a carga a aguardam,
+            // e as que chegam depois já encontram o usuário no cache
+            entityManagerFactory.getCache().evict(User.class, saved.getId());
+            statistics.clear();
+
+            List<Future<User>> results = race(i -> () -> userService.getUserById(saved.getId()));
+
+            for (Future<User> result : results) {
+                assertEquals(saved.getId(), result.get().getId());
+            }
+            assertEquals(1, statistics.getEntityLoadCount());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+    }
+
+    private Callable<User> createTask(User user) {
+        return () -> userService.createUser(user);
+    }
+
+    // Todas as threads aguardam o mesmo sinal para maximizar a sobreposição das chamadas
+    private List<Future<User>> race(IntFunction<Callable<User>> taskFactory) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<User>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<User> task = taskFactory.apply(i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+    }
+
+    private void assertOneWinner(List<Future<User>> results, Class<? extends RuntimeException> expectedFailure)
+            throws InterruptedException {
+        int created = 0;
+        for (Future<User> result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException ex) {
+                assertEquals(expectedFailure, ex.getCause().getClass(), () -> "Falha inesperada: " + ex.getCause());
+            }
+        }
+        assertEquals(1, created);
+    }
+
+    private String phoneFor(int n) {
+        return String.format("+55 11 9%04d-%04d", n / 10000, n % 10000);
+    }
+}
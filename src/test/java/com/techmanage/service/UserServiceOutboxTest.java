@@ -0,0 +1,88 @@
+package com.techmanage.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserChange;
+import com.techmanage.entity.UserType;
+import com.techmanage.repository.UserChangeRepository;
+import com.techmanage.repository.UserRepository;
+
+/**
+ * Atualização incondicional (PUT sem If-Match): o UPDATE do usuário e a linha do outbox são gravados
+ * ou desfeitos juntos
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceOutboxTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserChangeRepository changeRepository;
+
+    @SpyBean
+    private UserChangeFeed changeFeed;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void updateUser_CommitsUserAndOutboxRowTogether() {
+        User savedUser = createUser();
+
+        userService.updateUser(savedUser.getId(), changes("Outbox Atualizado"));
+
+        assertEquals("Outbox Atualizado", userRepository.findById(savedUser.getId()).orElseThrow().getFullName());
+        List<UserChange> updates = changeRepository.findAll().stream()
+                .filter(change -> change.getUserId().equals(savedUser.getId()))
+                .filter(change -> change.getOperation() == UserChange.Operation.UPDATED)
+                .collect(Collectors.toList());
+        assertEquals(1, updates.size());
+    }
+
+    @Test
+    void updateUser_OutboxFailureRollsBackUserUpdate() {
+        User savedUser = createUser();
+        doThrow(new IllegalStateException("Outbox indisponível"))
+                .when(changeFeed).record(any(), eq(UserChange.Operation.UPDATED), anyCollection());
+
+        assertThrows(IllegalStateException.class,
+                () -> userService.updateUser(savedUser.getId(), changes("Outbox Atualizado")));
+
+        User stored = userRepository.findById(savedUser.getId()).orElseThrow();
+        assertEquals("Outbox Original", stored.getFullName());
+        assertEquals(savedUser.getVersion(), stored.getVersion());
+    }
+
+    private User createUser() {
+        return userService.createUser(new User("Outbox Original", "outbox@email.com", "+55 21 97777-4321",
+                LocalDate.of(1990, 5, 15), UserType.EDITOR, "Rua Teste, 123"));
+    }
+
+    private static User changes(String fullName) {
+        return new User(fullName, "outbox@email.com", "+55 21 97777-4321",
+                LocalDate.of(1990, 5, 15), UserType.EDITOR, "Rua Teste, 123");
+    }
+}
@@ -0,0 +1,73 @@
+package com.techmanage.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.techmanage.entity.User;
+import com.techmanage.entity.UserType;
+import com.techmanage.repository.UserRepository;
+
+/**
+ * SQL gerado pelo PATCH: com @DynamicUpdate o UPDATE contém só as colunas alteradas (e a versão)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.techmanage.service.UserServicePatchSqlTest$RecordingStatementInspector")
+@ActiveProfiles("test")
+class UserServicePatchSqlTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void patchUser_UpdatesOnlyChangedColumns() {
+        User savedUser = userService.createUser(new User("Patch Teste", "patch.sql@email.com", "+55 21 97777-1234",
+                LocalDate.of(1990, 5, 15), UserType.ADMIN, "Rua Teste, 123"));
+        STATEMENTS.clear();
+
+        User changes = new User();
+        changes.setAddress("Rua Nova, 456");
+        userService.patchUser(savedUser.getId(), changes, Set.of("address"), null);
+
+        List<String> updates = STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("update users "))
+                .collect(Collectors.toList());
+        assertEquals(1, updates.size());
+        assertTrue(updates.get(0).contains("address=?"));
+        assertTrue(updates.get(0).contains("version=?"));
+        assertFalse(updates.get(0).contains("email"));
+        assertFalse(updates.get(0).contains("phone"));
+        assertFalse(updates.get(0).contains("full_name"));
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,30 +1,51 @@
 package com.techmanage.service;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.techmanage.dto.UserAvailability;
+import com.techmanage.dto.UserBatch;
 import com.techmanage.entity.User;
+import com.techmanage.entity.UserChange;
 import com.techmanage.entity.UserType;
 import com.techmanage.exception.EmailAlreadyExistsException;
 import com.techmanage.exception.PhoneAlreadyExistsException;
 import com.techmanage.exception.UserNotFoundException;
+import com.techmanage.exception.UserValidationException;
+import com.techmanage.exception.UserVersionConflictException;
 import com.techmanage.repository.UserRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +54,24 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private UserSearchIndex searchIndex = new UserSearchIndex();
+
+    @Spy
+    private UserAvailabilityFilter availabilityFilter = new UserAvailabilityFilter(1000, 0.01);
+
+    @Spy
+    private UserLoadCoalescer loadCoalescer = new UserLoadCoalescer();
+
+    @Mock
+    private UserChangeFeed changeFeed;
+
+    @Mock
+    private UserDeltaSync deltaSync;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -52,29 +91,26 @@ class UserServiceTest {
 
     @Test
     void createUser_Success() {
-        when(userRepository.findAll()).thenReturn(Arrays.asList());
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         User result = userService.createUser(user);
 
         assertNotNull(result);
         assertEquals("João Silva", result.getFullName());
         assertEquals("joao@email.com", result.getEmail());
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
+        verify(userRepository, never()).findAll();
     }
 
     @Test
     void createUser_EmailAlreadyExists() {
-        when(userRepository.findAll()).thenReturn(Arrays.asList(existingUser));
-
         User newUser = new User("Outro Nome", "maria@email.com", "+5511777777777",
                                LocalDate.of(1995, 3, 10), UserType.VIEWER, "Rua Teste, 123");
+        when(userRepository.saveAndFlush(newUser)).thenThrow(uniqueViolation(User.EMAIL_UNIQUE_CONSTRAINT));
 
         assertThrows(EmailAlreadyExistsException.class, () -> {
             userService.createUser(newUser);
         });
-
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -115,8 +151,7 @@ class UserServiceTest {
                                    LocalDate.of(1990, 5, 15), UserType.VIEWER, "Rua Teste, 123");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         User result = userService.updateUser(1L, updatedData);
 
@@ -124,7 +159,7 @@ class UserServiceTest {
         assertEquals("João Santos", user.getFullName());
         assertEquals("joao.santos@email.com", user.getEmail());
         assertEquals(UserType.VIEWER, user.getUserType());
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
     }
 
     @Test
@@ -169,13 +204,11 @@ class UserServiceTest {
                                    LocalDate.of(1990, 5, 15), UserType.VIEWER, "Rua Teste, 123");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user, otherUser));
+        when(userRepository.saveAndFlush(user)).thenThrow(uniqueViolation(User.EMAIL_UNIQUE_CONSTRAINT));
 
         assertThrows(EmailAlreadyExistsException.class, () -> {
             userService.updateUser(1L, updatedData);
         });
-
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -184,28 +217,24 @@ class UserServiceTest {
                                    LocalDate.of(1990, 5, 15), UserType.VIEWER, "Rua Teste, 123");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         User result = userService.updateUser(1L, updatedData);
 
         assertNotNull(result);
         assertEquals("+5511888888888", user.getPhone());
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
     }
 
     @Test
     void createUser_PhoneAlreadyExists() {
-        when(userRepository.findAll()).thenReturn(Arrays.asList(existingUser));
-
         User newUser = new User("Outro Nome", "novo@email.com", "+5511888888888",
                                LocalDate.of(1995, 3, 10), UserType.VIEWER,"Rua Teste, 123");
+        when(userRepository.saveAndFlush(newUser)).thenThrow(uniqueViolation(User.PHONE_UNIQUE_CONSTRAINT));
 
         assertThrows(PhoneAlreadyExistsException.class, () -> {
             userService.createUser(newUser);
         });
-
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -218,13 +247,11 @@ class UserServiceTest {
                                    LocalDate.of(1990, 5, 15), UserType.VIEWER, "Rua Teste, 123");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user, otherUser));
+        when(userRepository.saveAndFlush(user)).thenThrow(uniqueViolation(User.PHONE_UNIQUE_CONSTRAINT));
 
         assertThrows(PhoneAlreadyExistsException.class, () -> {
             userService.updateUser(1L, updatedData);
         });
-
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -233,13 +260,265 @@ class UserServiceTest {
                                    LocalDate.of(1990, 5, 15), UserType.VIEWER, "Rua Teste, 123");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         User result = userService.updateUser(1L, updatedData);
 
         assertNotNull(result);
         assertEquals("joao.santos@email.com", user.getEmail());
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
+    }
+
+    @Test
+    void createUser_OtherIntegrityViolationIsNotTranslated() {
+        DataIntegrityViolationException violation = uniqueViolation("chk_user_type");
+        when(userRepository.saveAndFlush(user)).thenThrow(violation);
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class, () -> {
+            userService.createUser(user);
+        });
+
+        assertSame(violation, thrown);
+    }
+
+    private DataIntegrityViolationException uniqueViolation(String constraintName) {
+        SQLException sqlException = new SQLException("Unique index or primary key violation: " + constraintName, "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, constraintName));
+    }
+
+    @Test
+    void patchUser_CopiesOnlyTouchedFields() {
+        User changes = new User();
+        changes.setAddress("Rua Nova, 456");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
+
+        User result = userService.patchUser(1L, changes, Set.of("address"), null);
+
+        assertEquals("Rua Nova, 456", result.getAddress());
+        assertEquals("João Silva", result.getFullName());
+        assertEquals("joao@email.com", result.getEmail());
+        assertEquals(UserType.ADMIN, result.getUserType());
+    }
+
+    @Test
+    void patchUser_InvalidTouchedField() {
+        User changes = new User();
+        changes.setEmail("email-invalido");
+
+        UserValidationException ex = assertThrows(UserValidationException.class, () -> {
+            userService.patchUser(1L, changes, Set.of("email", "version"), null);
+        });
+
+        assertEquals("Email deve ter um formato válido", ex.getFieldErrors().get("email"));
+        assertEquals("Campo desconhecido ou não editável", ex.getFieldErrors().get("version"));
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void patchUser_StaleVersion() {
+        user.setVersion(3L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        assertThrows(UserVersionConflictException.class, () -> {
+            userService.patchUser(1L, new User(), Set.of("address"), 2L);
+        });
+
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void getUsersByIds_TooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+
+        UserValidationException exception = assertThrows(UserValidationException.class, () -> {
+            userService.getUsersByIds(ids);
+        });
+
+        assertTrue(exception.getFieldErrors().containsKey("ids"));
+    }
+
+    @Test
+    void getUsersByIds_EmptyIds() {
+        UserBatch batch = userService.getUsersByIds(List.of());
+
+        assertEquals(0, batch.getSize());
+        assertTrue(batch.getMissingIds().isEmpty());
+    }
+
+    @Test
+    void getAllUsers_FieldsAlwaysStartWithId() {
+        when(userRepository.findAllProjected(List.of("id", "email", "fullName"))).thenReturn(List.of());
+
+        userService.getAllUsers(List.of("email", " fullName", "id", ""));
+
+        verify(userRepository).findAllProjected(List.of("id", "email", "fullName"));
+    }
+
+    @Test
+    void getAllUsers_UnknownField() {
+        UserValidationException exception = assertThrows(UserValidationException.class, () -> {
+            userService.getAllUsers(List.of("fullName", "version"));
+        });
+
+        assertTrue(exception.getFieldErrors().containsKey("version"));
+        verify(userRepository, never()).findAllProjected(any());
+    }
+
+    @Test
+    void createUser_AddsToSearchIndex() {
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            User saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        userService.createUser(user);
+
+        assertEquals(1, userService.searchUsers("joão", 10).size());
+        assertEquals(1L, userService.searchUsers("joão", 10).get(0).getId());
+    }
+
+    @Test
+    void deleteUser_RemovesFromSearchIndex() {
+        searchIndex.put(user);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.deleteUser(1L);
+
+        assertTrue(userService.searchUsers("joão", 10).isEmpty());
+    }
+
+    @Test
+    void createUser_RecordsCreationInChangeFeed() {
+        UserChange change = new UserChange(user, UserChange.Operation.CREATED, List.of("fullName"));
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
+        when(changeFeed.record(user, UserChange.Operation.CREATED,
+                List.of("fullName", "email", "phone", "birthDate", "userType", "address"))).thenReturn(change);
+
+        userService.createUser(user);
+
+        verify(changeFeed).publish(change);
+    }
+
+    @Test
+    void createUser_DuplicateRecordsNoChange() {
+        when(userRepository.saveAndFlush(user)).thenThrow(uniqueViolation(User.EMAIL_UNIQUE_CONSTRAINT));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.createUser(user));
+
+        verify(changeFeed, never()).record(any(), any(), anyCollection());
+    }
+
+    @Test
+    void updateUser_RecordsOnlyChangedFields() {
+        User updatedData = new User("João Santos", "joao@email.com", "+5511999999999",
+                                   LocalDate.of(1990, 5, 15), UserType.VIEWER, "Rua Teste, 123");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
+
+        userService.updateUser(1L, updatedData);
+
+        verify(changeFeed).record(user, UserChange.Operation.UPDATED, Set.of("fullName", "userType"));
+    }
+
+    @Test
+    void patchUser_SameValueRecordsNoChange() {
+        User changes = new User();
+        changes.setAddress(user.getAddress());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
+
+        userService.patchUser(1L, changes, Set.of("address"), null);
+
+        verify(changeFeed, never()).record(any(), any(), anyCollection());
+    }
+
+    @Test
+    void deleteUser_RecordsDeletionInChangeFeed() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.deleteUser(1L);
+
+        verify(changeFeed).record(user, UserChange.Operation.DELETED, List.of());
+    }
+
+    @Test
+    void deleteUser_RecordsTombstoneForDeltaSync() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.deleteUser(1L);
+
+        verify(deltaSync).recordDeletion(user);
+    }
+
+    @Test
+    void getUsersDelta_ClampsLimit() {
+        userService.getUsersDelta("token", 1000);
+        userService.getUsersDelta(null, 0);
+
+        verify(deltaSync).delta("token", 100);
+        verify(deltaSync).delta(null, 1);
+    }
+
+    @Test
+    void searchUsers_BlankQuery() {
+        UserValidationException exception = assertThrows(UserValidationException.class, () -> {
+            userService.searchUsers("  ", 10);
+        });
+
+        assertTrue(exception.getFieldErrors().containsKey("q"));
+    }
+
+    @Test
+    void checkAvailability_FilterNegativeSkipsDatabase() {
+        UserAvailability availability = userService.checkAvailability("novo@email.com", "+55 11 95555-5555");
+
+        assertTrue(availability.getEmailAvailable());
+        assertTrue(availability.getPhoneAvailable());
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userRepository, never()).existsByPhone(any());
+    }
+
+    @Test
+    void checkAvailability_PossiblePositiveChecksDatabase() {
+        availabilityFilter.put(user);
+        when(userRepository.existsByEmail("joao@email.com")).thenReturn(true);
+
+        UserAvailability availability = userService.checkAvailability("joao@email.com", null);
+
+        assertFalse(availability.getEmailAvailable());
+        assertNull(availability.getPhoneAvailable());
+        verify(userRepository).existsByEmail("joao@email.com");
+    }
+
+    @Test
+    void createUser_AvailabilityFilterUpdatedOnlyAfterCommit() {
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.createUser(user);
+            assertFalse(availabilityFilter.mightContainEmail("joao@email.com"));
+
+            // Reconstrução da subida começando entre o insert e o commit: o filtro novo recebe o usuário no commit
+            UserAvailabilityFilter.Rebuild rebuild = availabilityFilter.rebuild(0);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            rebuild.publish();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(availabilityFilter.mightContainEmail("joao@email.com"));
+        assertTrue(availabilityFilter.mightContainPhone("+55 11 99999-9999"));
+    }
+
+    @Test
+    void checkAvailability_RequiresEmailOrPhone() {
+        assertThrows(UserValidationException.class, () -> {
+            userService.checkAvailability(" ", null);
+        });
     }
-}
\ No newline at end of file
+}